@@ -0,0 +1,164 @@
+package com.example.event_scheduling.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Thin client for the endpoints the scenarios use. Calls made with a recorder are measured
+ * and any non-2xx answer or transport failure counts as an error. Calls made without one
+ * are setup steps and throw instead, since a scenario cannot run on broken fixtures.
+ */
+public class ApiClient {
+
+    public record Session(long userId, String email, String token) {}
+
+    private static final String PASSWORD = "load-test-password";
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public Session signup(String email, LatencyRecorder recorder) throws IOException, InterruptedException {
+        ObjectNode body = mapper.createObjectNode()
+                .put("email", email)
+                .put("firstName", "Load")
+                .put("lastName", "Test")
+                .put("password", PASSWORD);
+        JsonNode data = send(post("/auth/signup", null).header("Content-Type", "application/json").POST(json(body)), recorder);
+        return data == null ? null : session(email, data);
+    }
+
+    public Session login(String email, LatencyRecorder recorder) throws IOException, InterruptedException {
+        ObjectNode body = mapper.createObjectNode().put("email", email).put("password", PASSWORD);
+        JsonNode data = send(post("/auth/login", null).header("Content-Type", "application/json").POST(json(body)), recorder);
+        return data == null ? null : session(email, data);
+    }
+
+    public List<Session> signupAll(String prefix, int count) throws IOException, InterruptedException {
+        List<Session> sessions = new ArrayList<Session>(count);
+        for (int i = 0; i < count; i++) {
+            sessions.add(signup(prefix + "-" + i + "@loadtest.local", null));
+        }
+        return sessions;
+    }
+
+    /** Creates an event and returns it; {@code timeslots[0]} is the creator's initial timeslot. */
+    public JsonNode createEvent(Session creator, String title, Instant start, Instant end, int requiredVotes,
+                                LatencyRecorder recorder) throws IOException, InterruptedException {
+        ObjectNode body = mapper.createObjectNode()
+                .put("creatorId", creator.userId())
+                .put("title", title)
+                .put("description", "generated by the load test")
+                .put("startDate", start.toString())
+                .put("endDate", end.toString())
+                .put("requiredVotes", requiredVotes);
+        return send(post("/events/create", creator).header("Content-Type", "application/json").POST(json(body)), recorder);
+    }
+
+    public JsonNode invite(Session creator, long eventId, long userId, LatencyRecorder recorder) throws IOException, InterruptedException {
+        return send(post("/events/invite?senderId=" + creator.userId() + "&eventId=" + eventId + "&userId=" + userId, creator)
+                .POST(HttpRequest.BodyPublishers.noBody()), recorder);
+    }
+
+    public JsonNode propose(Session user, long eventId, Instant start, Instant end, LatencyRecorder recorder) throws IOException, InterruptedException {
+        return send(post("/events/propose?eventId=" + eventId + "&userId=" + user.userId()
+                + "&startTime=" + encode(start.toString()) + "&endTime=" + encode(end.toString()), user)
+                .POST(HttpRequest.BodyPublishers.noBody()), recorder);
+    }
+
+    public JsonNode vote(Session user, long eventId, long timeslotId, boolean remove, LatencyRecorder recorder) throws IOException, InterruptedException {
+        return send(post("/events/vote?userId=" + user.userId() + "&eventId=" + eventId
+                + "&timeslotId=" + timeslotId + "&remove=" + remove, user)
+                .POST(HttpRequest.BodyPublishers.noBody()), recorder);
+    }
+
+    public JsonNode getEvents(Session user, LatencyRecorder recorder) throws IOException, InterruptedException {
+        return send(request("/events/getEvents?userId=" + user.userId(), user).GET(), recorder);
+    }
+
+    /** True once the service answers HTTP at all, whatever the status. */
+    public boolean isUp() {
+        try {
+            http.send(request("/actuator/health", null).GET().build(), HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private JsonNode send(HttpRequest.Builder builder, LatencyRecorder recorder) throws IOException, InterruptedException {
+        HttpRequest request = builder.build();
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            if (recorder == null) throw e;
+            recorder.record(System.nanoTime() - start, false);
+            return null;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        boolean ok = response.statusCode() / 100 == 2;
+        if (recorder != null) {
+            recorder.record(elapsed, ok);
+        } else if (!ok) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode() + ": " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return ok ? mapper.readTree(response.body()).path("data") : null;
+    }
+
+    private HttpRequest.Builder post(String path, Session session) {
+        return request(path, session);
+    }
+
+    private HttpRequest.Builder request(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (session != null) builder.header("Authorization", "Bearer " + session.token());
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(JsonNode body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+    }
+
+    // the access token carries the user id in its uid claim
+    private Session session(String email, JsonNode tokens) throws IOException {
+        String token = tokens.path("accessToken").asText();
+        String payload = token.split("\\.")[1];
+        JsonNode claims = mapper.readTree(Base64.getUrlDecoder().decode(payload));
+        return new Session(claims.path("uid").asLong(), email, token);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.event_scheduling.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Creators invite a shared pool of users, one event at a time. Each worker creates a new
+ * event once it has invited the whole pool, so events grow to {@link #INVITEES} members.
+ */
+class BulkInviteScenario implements Scenario {
+
+    static final int INVITEES = 100;
+
+    private final String runId;
+    private List<ApiClient.Session> creators;
+    private List<ApiClient.Session> invitees;
+    private long[] eventIds;
+    private int[] cursors;
+
+    BulkInviteScenario(String runId) {
+        this.runId = runId;
+    }
+
+    @Override
+    public String name() {
+        return "bulk-invite";
+    }
+
+    @Override
+    public void setUp(ApiClient client, int workers) throws Exception {
+        creators = client.signupAll(runId + "-inviter", workers);
+        invitees = client.signupAll(runId + "-invitee", INVITEES);
+        eventIds = new long[workers];
+        cursors = new int[workers];
+    }
+
+    @Override
+    public void iterate(int worker, ApiClient client, LatencyRecorder recorder) throws Exception {
+        ApiClient.Session creator = creators.get(worker);
+        if (cursors[worker] == 0) {
+            Instant start = Instant.now().plus(Duration.ofDays(14));
+            JsonNode event = client.createEvent(creator, "All hands", start, start.plus(Duration.ofHours(1)), 3, null);
+            eventIds[worker] = event.path("id").asLong();
+        }
+        client.invite(creator, eventIds[worker], invitees.get(cursors[worker]).userId(), recorder);
+        cursors[worker] = (cursors[worker] + 1) % INVITEES;
+    }
+}
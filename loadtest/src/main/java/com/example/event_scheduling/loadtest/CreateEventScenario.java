@@ -0,0 +1,32 @@
+package com.example.event_scheduling.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/** Every worker keeps creating events as its own user. */
+class CreateEventScenario implements Scenario {
+
+    private final String runId;
+    private List<ApiClient.Session> creators;
+
+    CreateEventScenario(String runId) {
+        this.runId = runId;
+    }
+
+    @Override
+    public String name() {
+        return "create-event";
+    }
+
+    @Override
+    public void setUp(ApiClient client, int workers) throws Exception {
+        creators = client.signupAll(runId + "-creator", workers);
+    }
+
+    @Override
+    public void iterate(int worker, ApiClient client, LatencyRecorder recorder) throws Exception {
+        Instant start = Instant.now().plus(Duration.ofDays(7));
+        client.createEvent(creators.get(worker), "Load event", start, start.plus(Duration.ofHours(1)), 3, recorder);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.event_scheduling.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/** Users with a full calendar each poll their event list, as a dashboard would. */
+class DashboardScenario implements Scenario {
+
+    static final int EVENTS_PER_USER = 20;
+
+    private final String runId;
+    private List<ApiClient.Session> users;
+
+    DashboardScenario(String runId) {
+        this.runId = runId;
+    }
+
+    @Override
+    public String name() {
+        return "dashboard";
+    }
+
+    @Override
+    public void setUp(ApiClient client, int workers) throws Exception {
+        users = client.signupAll(runId + "-viewer", workers);
+        Instant start = Instant.now().plus(Duration.ofDays(3));
+        for (ApiClient.Session user : users) {
+            for (int i = 0; i < EVENTS_PER_USER; i++) {
+                Instant eventStart = start.plus(Duration.ofHours(i));
+                client.createEvent(user, "Dashboard event " + i, eventStart, eventStart.plus(Duration.ofHours(1)), 3, null);
+            }
+        }
+    }
+
+    @Override
+    public void iterate(int worker, ApiClient client, LatencyRecorder recorder) throws Exception {
+        client.getEvents(users.get(worker), recorder);
+    }
+}
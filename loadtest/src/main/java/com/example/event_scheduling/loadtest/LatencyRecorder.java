@@ -0,0 +1,32 @@
+package com.example.event_scheduling.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and failures seen by one worker thread. Every sample is kept, so percentiles
+ * are exact; a few hundred thousand requests per run fit comfortably in memory.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[4096];
+    private int count;
+    private int errors;
+
+    public void record(long nanos, boolean ok) {
+        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = nanos;
+        if (!ok) errors++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int errors() {
+        return errors;
+    }
+
+    long[] samples() {
+        return Arrays.copyOf(samples, count);
+    }
+}
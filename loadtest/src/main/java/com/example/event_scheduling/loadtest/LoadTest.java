@@ -0,0 +1,182 @@
+package com.example.event_scheduling.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load driver. Each worker thread sends its next request as soon as the previous
+ * one answers, for a warm-up period and then for the measured period.
+ *
+ * <pre>
+ *   --base-url URL          service to test (default http://localhost:8080)
+ *   --app-jar PATH          start this jar on --port first and stop it afterwards
+ *   --port N                port for --app-jar (default 18080)
+ *   --scenario NAME|all     scenario to run (default all)
+ *   --workers N             concurrent workers (default 16)
+ *   --duration SECONDS      measured time per scenario (default 30)
+ *   --warmup SECONDS        unmeasured time per scenario (default 5)
+ *   --report PATH           also write the results as CSV
+ *   --max-error-rate R      exit with status 1 above this error rate (default 0.01)
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        int workers = Integer.parseInt(options.getOrDefault("workers", "16"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("max-error-rate", "0.01"));
+        String selected = options.getOrDefault("scenario", "all");
+
+        Process app = null;
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        if (options.containsKey("app-jar")) {
+            String port = options.getOrDefault("port", "18080");
+            baseUrl = "http://localhost:" + port;
+            app = startApp(options.get("app-jar"), port);
+        }
+
+        List<ScenarioResult> results = new ArrayList<ScenarioResult>();
+        try {
+            ApiClient client = new ApiClient(baseUrl);
+            if (app != null) awaitStartup(client, app);
+
+            for (Scenario scenario : scenarios(runId)) {
+                if (!selected.equals("all") && !selected.equals(scenario.name())) continue;
+                System.out.printf("%s: setting up for %d workers%n", scenario.name(), workers);
+                scenario.setUp(client, workers);
+                run(scenario, client, workers, warmup);
+                results.add(ScenarioResult.of(scenario.name(), workers, run(scenario, client, workers, duration), duration));
+            }
+        } finally {
+            if (app != null) {
+                app.destroy();
+                app.waitFor(30, TimeUnit.SECONDS);
+            }
+        }
+
+        if (results.isEmpty()) {
+            System.err.println("No scenario named " + selected);
+            System.exit(2);
+        }
+        print(results, System.out);
+        if (options.containsKey("report")) writeCsv(results, Path.of(options.get("report")));
+
+        boolean failed = false;
+        for (ScenarioResult r : results) {
+            if (r.errorRate() > maxErrorRate) {
+                System.err.printf("%s: error rate %.2f%% is above %.2f%%%n", r.scenario(), r.errorRate() * 100, maxErrorRate * 100);
+                failed = true;
+            }
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    static List<Scenario> scenarios(String runId) {
+        return List.of(
+                new SignupLoginScenario(runId),
+                new CreateEventScenario(runId),
+                new BulkInviteScenario(runId),
+                new ProposalBurstScenario(runId),
+                new VoteStormScenario(runId),
+                new DashboardScenario(runId));
+    }
+
+    private static List<LatencyRecorder> run(Scenario scenario, ApiClient client, int workers, Duration duration) throws InterruptedException {
+        List<LatencyRecorder> recorders = new ArrayList<LatencyRecorder>(workers);
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        CountDownLatch done = new CountDownLatch(workers);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        for (int i = 0; i < workers; i++) {
+            int worker = i;
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            pool.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        scenario.iterate(worker, client, recorder);
+                    }
+                } catch (Exception e) {
+                    System.err.printf("%s: worker %d stopped: %s%n", scenario.name(), worker, e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        pool.shutdown();
+        return recorders;
+    }
+
+    private static Process startApp(String jar, String port) throws IOException {
+        File log = new File("target/loadtest-app.log");
+        log.getParentFile().mkdirs();
+        System.out.printf("Starting %s on port %s (log in %s)%n", jar, port, log.getPath());
+        // the limits and slow hashing are there for real clients, not for a load test
+        return new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar,
+                "--server.port=" + port,
+                "--ratelimit.enabled=false",
+                "--auth.bcrypt.strength=4")
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    private static void awaitStartup(ApiClient client, Process app) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofMinutes(2));
+        while (!client.isUp()) {
+            if (!app.isAlive()) throw new IllegalStateException("Application exited during startup, see target/loadtest-app.log");
+            if (Instant.now().isAfter(deadline)) throw new IllegalStateException("Application did not start within 2 minutes");
+            Thread.sleep(250);
+        }
+    }
+
+    private static void print(List<ScenarioResult> results, PrintStream out) {
+        out.printf("%n%-16s %8s %10s %8s %10s %9s %9s %9s %9s%n",
+                "scenario", "workers", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (ScenarioResult r : results) {
+            out.printf(Locale.ROOT, "%-16s %8d %10d %7.2f%% %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.scenario(), r.workers(), r.requests(), r.errorRate() * 100, r.throughput(),
+                    r.p50Millis(), r.p99Millis(), r.p999Millis(), r.maxMillis());
+        }
+    }
+
+    private static void writeCsv(List<ScenarioResult> results, Path path) throws IOException {
+        StringBuilder csv = new StringBuilder("scenario,workers,requests,errors,throughput,p50_ms,p99_ms,p999_ms,max_ms\n");
+        for (ScenarioResult r : results) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n",
+                    r.scenario(), r.workers(), r.requests(), r.errors(), r.throughput(),
+                    r.p50Millis(), r.p99Millis(), r.p999Millis(), r.maxMillis()));
+        }
+        Files.writeString(path, csv);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<String, String>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --name value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
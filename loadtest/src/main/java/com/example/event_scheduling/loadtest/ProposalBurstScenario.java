@@ -0,0 +1,45 @@
+package com.example.event_scheduling.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** All workers propose new timeslots on one event, each as its own invited user. */
+class ProposalBurstScenario implements Scenario {
+
+    private final String runId;
+    private final AtomicLong slot = new AtomicLong();
+    private final Instant base = Instant.now().plus(Duration.ofDays(30));
+    private List<ApiClient.Session> proposers;
+    private long eventId;
+
+    ProposalBurstScenario(String runId) {
+        this.runId = runId;
+    }
+
+    @Override
+    public String name() {
+        return "proposal-burst";
+    }
+
+    @Override
+    public void setUp(ApiClient client, int workers) throws Exception {
+        ApiClient.Session creator = client.signup(runId + "-burst-owner@loadtest.local", null);
+        JsonNode event = client.createEvent(creator, "Planning", base, base.plus(Duration.ofHours(1)), 3, null);
+        eventId = event.path("id").asLong();
+        proposers = client.signupAll(runId + "-proposer", workers);
+        for (ApiClient.Session proposer : proposers) {
+            client.invite(creator, eventId, proposer.userId(), null);
+        }
+    }
+
+    @Override
+    public void iterate(int worker, ApiClient client, LatencyRecorder recorder) throws Exception {
+        // every proposal gets its own slot so none is rejected as a duplicate
+        Instant start = base.plus(Duration.ofMinutes(15 * slot.incrementAndGet()));
+        client.propose(proposers.get(worker), eventId, start, start.plus(Duration.ofMinutes(30)), recorder);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.event_scheduling.loadtest;
+
+/**
+ * One workload. {@link #setUp} creates the users and events the scenario needs and is not
+ * measured; {@link #iterate} is then called in a loop by every worker until the run ends.
+ */
+public interface Scenario {
+
+    String name();
+
+    void setUp(ApiClient client, int workers) throws Exception;
+
+    void iterate(int worker, ApiClient client, LatencyRecorder recorder) throws Exception;
+}
@@ -0,0 +1,50 @@
+package com.example.event_scheduling.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/** Throughput, latency percentiles and error rate of one scenario run. */
+public record ScenarioResult(String scenario,
+                             int workers,
+                             long requests,
+                             long errors,
+                             double throughput,
+                             double p50Millis,
+                             double p99Millis,
+                             double p999Millis,
+                             double maxMillis) {
+
+    static ScenarioResult of(String scenario, int workers, List<LatencyRecorder> recorders, Duration elapsed) {
+        long requests = 0, errors = 0;
+        for (LatencyRecorder r : recorders) {
+            requests += r.count();
+            errors += r.errors();
+        }
+
+        long[] all = new long[(int) requests];
+        int offset = 0;
+        for (LatencyRecorder r : recorders) {
+            long[] samples = r.samples();
+            System.arraycopy(samples, 0, all, offset, samples.length);
+            offset += samples.length;
+        }
+        Arrays.sort(all);
+
+        double seconds = elapsed.toNanos() / 1e9;
+        return new ScenarioResult(scenario, workers, requests, errors, requests / seconds,
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    // nearest-rank percentile in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.event_scheduling.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Signs up a fresh user and logs them straight back in; both calls are recorded. */
+class SignupLoginScenario implements Scenario {
+
+    private final String runId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    SignupLoginScenario(String runId) {
+        this.runId = runId;
+    }
+
+    @Override
+    public String name() {
+        return "signup-login";
+    }
+
+    @Override
+    public void setUp(ApiClient client, int workers) {
+    }
+
+    @Override
+    public void iterate(int worker, ApiClient client, LatencyRecorder recorder) throws Exception {
+        String email = runId + "-signup-" + sequence.incrementAndGet() + "@loadtest.local";
+        if (client.signup(email, recorder) != null) {
+            client.login(email, recorder);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.event_scheduling.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every worker votes on the same hot event. Each worker owns a few voters and toggles their
+ * votes on and off, so every request changes state and none is rejected as a repeat.
+ */
+class VoteStormScenario implements Scenario {
+
+    static final int VOTERS_PER_WORKER = 5;
+    static final int TIMESLOTS = 10;
+
+    private final String runId;
+    private List<ApiClient.Session> voters;
+    private long eventId;
+    private final List<Long> timeslotIds = new ArrayList<Long>(TIMESLOTS);
+    private boolean[][] voted;
+    private int[] cursors;
+
+    VoteStormScenario(String runId) {
+        this.runId = runId;
+    }
+
+    @Override
+    public String name() {
+        return "vote-storm";
+    }
+
+    @Override
+    public void setUp(ApiClient client, int workers) throws Exception {
+        Instant start = Instant.now().plus(Duration.ofDays(60));
+        ApiClient.Session creator = client.signup(runId + "-hot-owner@loadtest.local", null);
+        JsonNode event = client.createEvent(creator, "Hot event", start, start.plus(Duration.ofHours(1)),
+                workers * VOTERS_PER_WORKER + 1, null);
+        eventId = event.path("id").asLong();
+
+        voters = client.signupAll(runId + "-voter", workers * VOTERS_PER_WORKER);
+        for (ApiClient.Session voter : voters) {
+            client.invite(creator, eventId, voter.userId(), null);
+        }
+        for (int i = 1; i < TIMESLOTS; i++) {
+            Instant slot = start.plus(Duration.ofHours(i));
+            client.propose(voters.get(0), eventId, slot, slot.plus(Duration.ofHours(1)), null);
+        }
+        for (JsonNode timeslot : client.getEvents(creator, null).get(0).path("timeslots")) {
+            timeslotIds.add(timeslot.path("id").asLong());
+        }
+
+        voted = new boolean[voters.size()][timeslotIds.size()];
+        cursors = new int[workers];
+    }
+
+    @Override
+    public void iterate(int worker, ApiClient client, LatencyRecorder recorder) throws Exception {
+        int step = cursors[worker]++;
+        int voter = worker * VOTERS_PER_WORKER + step % VOTERS_PER_WORKER;
+        int timeslot = (step / VOTERS_PER_WORKER) % timeslotIds.size();
+
+        boolean remove = voted[voter][timeslot];
+        if (client.vote(voters.get(voter), eventId, timeslotIds.get(timeslot), remove, recorder) != null) {
+            voted[voter][timeslot] = !remove;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.event_scheduling;
 
+import com.example.event_scheduling.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 public class EventSchedulingApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,153 @@
+package com.example.event_scheduling.availability;
+
+import com.example.event_scheduling.dto.AvailabilityWindowDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ranks candidate meeting windows by how many of a group are free. Candidates start every
+ * {@code step} from {@code from} and last {@code length}. The candidate range is split into
+ * chunks evaluated in parallel on a dedicated {@link ForkJoinPool}; each chunk binary-searches
+ * every user's {@link UserBusyTimes} for the intervals inside it and turns them into
+ * per-candidate busy counts with a difference array, so the work is
+ * O(users * (log n + intervals in chunk)) per chunk with no locking or allocation per user.
+ *
+ * <p>Consecutive candidates with the same count are reported as one window: any slot of the
+ * requested length starting on the grid inside it has that many members free.
+ */
+@Component
+public class AvailabilitySearch {
+
+    // smallest chunk worth forking, in candidates
+    private static final int MIN_CHUNK = 32;
+
+    private final BusyTimeIndex busyTimeIndex;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public AvailabilitySearch(BusyTimeIndex busyTimeIndex,
+                              @Value("${availability.search.parallelism:0}") int parallelism) {
+        this.busyTimeIndex = busyTimeIndex;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * The best {@code limit} windows in [from, to) by number of free users, most first and
+     * earliest first among equals. Windows nobody can attend are left out.
+     */
+    public List<AvailabilityWindowDTO> search(List<Long> userIds,
+                                              Instant from,
+                                              Instant to,
+                                              Duration length,
+                                              Duration step,
+                                              int limit) {
+        long origin = BusyTimeIndex.millis(from);
+        long len = length.toMillis();
+        long stepMillis = step.toMillis();
+        long span = BusyTimeIndex.millis(to) - origin - len;
+        if (span < 0 || len <= 0 || stepMillis <= 0 || limit <= 0) return new ArrayList<AvailabilityWindowDTO>();
+
+        int candidates = (int) (span / stepMillis) + 1;
+        UserBusyTimes[] users = busyTimeIndex.resolve(userIds).toArray(new UserBusyTimes[0]);
+        int[] busy = new int[candidates];
+
+        int chunk = Math.max(MIN_CHUNK, candidates / (pool.getParallelism() * 4) + 1);
+        pool.invoke(new CountTask(users, busy, origin, stepMillis, len, 0, candidates, chunk));
+
+        return topWindows(busy, users.length, origin, stepMillis, len, limit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static List<AvailabilityWindowDTO> topWindows(int[] busy, int total, long origin, long step, long len, int limit) {
+        // runs of equal counts, as {first candidate, last candidate, free}
+        List<int[]> runs = new ArrayList<int[]>();
+        for (int i = 0; i < busy.length; ) {
+            int j = i;
+            while (j + 1 < busy.length && busy[j + 1] == busy[i]) j++;
+            if (total - busy[i] > 0) runs.add(new int[]{i, j, total - busy[i]});
+            i = j + 1;
+        }
+        runs.sort(Comparator.<int[]>comparingInt(run -> -run[2]).thenComparingInt(run -> run[0]));
+
+        List<AvailabilityWindowDTO> windows = new ArrayList<AvailabilityWindowDTO>(Math.min(limit, runs.size()));
+        for (int[] run : runs.subList(0, Math.min(limit, runs.size()))) {
+            windows.add(new AvailabilityWindowDTO(BusyTimeIndex.time(origin + run[0] * step),
+                    BusyTimeIndex.time(origin + run[1] * step + len), run[2], total));
+        }
+        return windows;
+    }
+
+    /** Fills {@code busy[lo, hi)} with the number of users busy during each candidate. */
+    private static final class CountTask extends RecursiveAction {
+
+        private final UserBusyTimes[] users;
+        private final int[] busy;
+        private final long origin;
+        private final long step;
+        private final long len;
+        private final int lo;
+        private final int hi;
+        private final int chunk;
+
+        CountTask(UserBusyTimes[] users, int[] busy, long origin, long step, long len, int lo, int hi, int chunk) {
+            this.users = users;
+            this.busy = busy;
+            this.origin = origin;
+            this.step = step;
+            this.len = len;
+            this.lo = lo;
+            this.hi = hi;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > chunk) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new CountTask(users, busy, origin, step, len, lo, mid, chunk),
+                          new CountTask(users, busy, origin, step, len, mid, hi, chunk));
+                return;
+            }
+
+            int[] diff = new int[hi - lo + 1];
+            long chunkStart = origin + lo * step;
+            long chunkEnd = origin + (hi - 1) * step + len;
+
+            for (UserBusyTimes user : users) {
+                long[] m = user.intervals();
+
+                // candidate i overlaps [s, e) when s - len < start(i) < e; intervals are disjoint
+                // and sorted, but their blocked ranges can still touch, so never count one twice
+                long last = lo - 1;
+                for (int k = UserBusyTimes.firstEndingAfter(m, chunkStart); k < m.length && m[k] < chunkEnd; k += 2) {
+                    long from = Math.max(last + 1, Math.floorDiv(m[k] - len - origin, step) + 1);
+                    long to = Math.min(hi - 1, -Math.floorDiv(origin - m[k + 1], step) - 1);
+                    if (from > to) continue;
+                    diff[(int) from - lo]++;
+                    diff[(int) to - lo + 1]--;
+                    last = to;
+                }
+            }
+
+            int running = 0;
+            for (int i = lo; i < hi; i++) {
+                running += diff[i - lo];
+                busy[i] = running;
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.event_scheduling.availability;
+
+import com.example.event_scheduling.dto.AvailabilityWindowDTO;
+import com.example.event_scheduling.model.Event;
+import com.example.event_scheduling.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class AvailabilityService {
+
+    private final EventRepository eventRepository;
+    private final AvailabilitySearch availabilitySearch;
+    private final Duration maxWindow;
+    private final int maxCandidates;
+    private final int maxResults;
+    private final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
+
+    @Autowired
+    public AvailabilityService(EventRepository eventRepository,
+                               AvailabilitySearch availabilitySearch,
+                               @Value("${availability.max-window:P90D}") Duration maxWindow,
+                               @Value("${availability.search.max-candidates:50000}") int maxCandidates,
+                               @Value("${availability.search.max-results:50}") int maxResults) {
+        this.eventRepository = eventRepository;
+        this.availabilitySearch = availabilitySearch;
+        this.maxWindow = maxWindow;
+        this.maxCandidates = maxCandidates;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Windows in [from, to) where most of the event's creator and invitees are free, for the
+     * creator to pick from before proposing a timeslot. Null if the request is invalid or the
+     * user is not the creator.
+     */
+    public List<AvailabilityWindowDTO> findWindows(Long userId,
+                                                   Long eventId,
+                                                   Instant from,
+                                                   Instant to,
+                                                   Duration length,
+                                                   Duration step,
+                                                   Integer limit) {
+        logger.info("User {} searching availability for event {} from {} to {}", userId, eventId, from, to);
+        Event event = eventRepository.findById(eventId).orElse(null);
+
+        if (event == null) {
+            logger.error("Invalid eventId ({}), please check values.", eventId);
+            return null;
+        }
+
+        if (userId.longValue() != event.getCreator().getId().longValue()) {
+            logger.warn("Only the event creator can search availability for event {}", eventId);
+            return null;
+        }
+
+        if (from == null || to == null || !from.isBefore(to) || Duration.between(from, to).compareTo(maxWindow) > 0) {
+            logger.error("Invalid availability window {} to {}, at most {} is allowed", from, to, maxWindow);
+            return null;
+        }
+
+        if (length.isNegative() || length.isZero() || step.toMinutes() < 1
+                || Duration.between(from, to).dividedBy(step) > maxCandidates
+                || limit == null || limit < 1 || limit > maxResults) {
+            logger.error("Invalid availability search: length {}, step {}, limit {}", length, step, limit);
+            return null;
+        }
+
+        Set<Long> members = new LinkedHashSet<Long>();
+        members.add(event.getCreator().getId());
+        members.addAll(eventRepository.findMemberIds(eventId));
+
+        List<AvailabilityWindowDTO> windows = availabilitySearch.search(new ArrayList<Long>(members), from, to, length, step, limit);
+        logger.info("Found {} availability windows for {} members of event {}", windows.size(), members.size(), eventId);
+        return windows;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.event_scheduling.availability;
+
+import com.example.event_scheduling.cache.InvalidationBus;
+import com.example.event_scheduling.dto.CalendarEntry;
+import com.example.event_scheduling.dto.IntervalDTO;
+import com.example.event_scheduling.dto.UserInterval;
+import com.example.event_scheduling.repository.TimeslotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user index of finalized timeslots, answering "is this user free in [start, end)" with
+ * one binary search instead of walking {@code User.events}. A user's entry is loaded from the
+ * database on first use and then kept current by finalize and decline. Other nodes
+ * drop their copy when a user's finalized events change there (the calendar region of the
+ * {@link InvalidationBus}).
+ *
+ * <p>Recurring series are indexed by their finalized timeslot only, not every occurrence.
+ */
+@Component
+public class BusyTimeIndex {
+
+    // ids per bulk load query, keeps the IN list well below database limits
+    private static final int LOAD_BATCH = 1000;
+
+    private final TimeslotRepository timeslotRepository;
+    private final ConcurrentHashMap<Long, UserBusyTimes> users = new ConcurrentHashMap<Long, UserBusyTimes>();
+    // bumped on every change, a load that overlapped one is used but not kept
+    private final AtomicLong changes = new AtomicLong();
+
+    @Autowired
+    public BusyTimeIndex(TimeslotRepository timeslotRepository, InvalidationBus invalidationBus) {
+        this.timeslotRepository = timeslotRepository;
+
+        invalidationBus.subscribe(InvalidationBus.CALENDAR_REGION, message -> {
+            if (message.origin().equals(invalidationBus.nodeId())) return;
+            changes.incrementAndGet();
+            users.remove(Long.valueOf(message.key()));
+        });
+    }
+
+    public boolean isFree(Long userId, Instant start, Instant end) {
+        return busyTimes(userId).isFree(millis(start), millis(end));
+    }
+
+    /** The subset of {@code userIds} with a finalized timeslot overlapping [start, end). */
+    public List<Long> busyUsers(List<Long> userIds, Instant start, Instant end) {
+        long s = millis(start), e = millis(end);
+        List<Long> busy = new ArrayList<Long>();
+        for (Long userId : userIds) {
+            if (!busyTimes(userId).isFree(s, e)) busy.add(userId);
+        }
+        return busy;
+    }
+
+    /** Union of the users' busy time within [from, to), clipped to the window. */
+    public List<IntervalDTO> busy(List<Long> userIds, Instant from, Instant to) {
+        long f = millis(from), t = millis(to);
+        List<IntervalDTO> out = new ArrayList<IntervalDTO>();
+        for (long[] interval : mergedBusy(userIds, f, t)) {
+            out.add(new IntervalDTO(time(Math.max(interval[0], f)), time(Math.min(interval[1], t))));
+        }
+        return out;
+    }
+
+    /** Gaps of at least {@code minLength} in [from, to) where every user is free. */
+    public List<IntervalDTO> freeWindows(List<Long> userIds, Instant from, Instant to, Duration minLength) {
+        long f = millis(from), t = millis(to), min = minLength.toMillis();
+        List<IntervalDTO> out = new ArrayList<IntervalDTO>();
+
+        long cursor = f;
+        for (long[] interval : mergedBusy(userIds, f, t)) {
+            if (interval[0] - cursor >= min && interval[0] > cursor) out.add(new IntervalDTO(time(cursor), time(interval[0])));
+            cursor = Math.max(cursor, interval[1]);
+        }
+        if (t - cursor >= min && t > cursor) out.add(new IntervalDTO(time(cursor), time(t)));
+        return out;
+    }
+
+    /** Records a finalized event for every member already indexed. Call after commit. */
+    public void eventFinalized(Long eventId, Instant start, Instant end, List<Long> userIds) {
+        changes.incrementAndGet();
+        long s = millis(start), e = millis(end);
+        for (Long userId : userIds) {
+            UserBusyTimes times = users.get(userId);
+            if (times != null) times.add(eventId, s, e);
+        }
+    }
+
+    /** Forgets an event for the given users, e.g. after a decline. Call after commit. */
+    public void eventRemoved(Long eventId, List<Long> userIds) {
+        changes.incrementAndGet();
+        for (Long userId : userIds) {
+            UserBusyTimes times = users.get(userId);
+            if (times != null) times.remove(eventId);
+        }
+    }
+
+    /**
+     * The entries for every user, in order. Users not indexed yet are loaded with one query
+     * per {@value #LOAD_BATCH} ids instead of one each.
+     */
+    List<UserBusyTimes> resolve(List<Long> userIds) {
+        List<UserBusyTimes> resolved = new ArrayList<UserBusyTimes>(userIds.size());
+        List<Long> missing = new ArrayList<Long>();
+        for (Long userId : userIds) {
+            if (!users.containsKey(userId)) missing.add(userId);
+        }
+
+        Map<Long, UserBusyTimes> loaded = new HashMap<Long, UserBusyTimes>();
+        for (int i = 0; i < missing.size(); i += LOAD_BATCH) {
+            List<Long> batch = missing.subList(i, Math.min(i + LOAD_BATCH, missing.size()));
+            long changesBefore = changes.get();
+
+            Map<Long, UserBusyTimes> batchTimes = new HashMap<Long, UserBusyTimes>();
+            for (Long userId : batch) {
+                batchTimes.put(userId, new UserBusyTimes());
+            }
+            for (UserInterval interval : timeslotRepository.findFinalizedForUsers(batch)) {
+                batchTimes.get(interval.userId()).put(interval.eventId(),
+                        millis(interval.startTime()), millis(interval.endTime()));
+            }
+            for (UserBusyTimes times : batchTimes.values()) {
+                times.rebuild();
+            }
+
+            boolean unchanged = changes.get() == changesBefore;
+            for (Map.Entry<Long, UserBusyTimes> e : batchTimes.entrySet()) {
+                UserBusyTimes existing = unchanged ? users.putIfAbsent(e.getKey(), e.getValue()) : null;
+                loaded.put(e.getKey(), existing != null ? existing : e.getValue());
+            }
+        }
+
+        for (Long userId : userIds) {
+            UserBusyTimes times = loaded.get(userId);
+            resolved.add(times != null ? times : busyTimes(userId));
+        }
+        return resolved;
+    }
+
+    private UserBusyTimes busyTimes(Long userId) {
+        UserBusyTimes times = users.get(userId);
+        if (times != null) return times;
+
+        long changesBefore = changes.get();
+        times = new UserBusyTimes();
+        for (CalendarEntry entry : timeslotRepository.findFinalizedForUser(userId)) {
+            times.put(entry.eventId(), millis(entry.startTime()), millis(entry.endTime()));
+        }
+        times.rebuild();
+
+        if (changes.get() != changesBefore) return times;
+        UserBusyTimes existing = users.putIfAbsent(userId, times);
+        return existing != null ? existing : times;
+    }
+
+    // every user's intervals overlapping the window, merged into one sorted disjoint list
+    private List<long[]> mergedBusy(List<Long> userIds, long from, long to) {
+        List<long[]> all = new ArrayList<long[]>();
+        for (Long userId : userIds) {
+            busyTimes(userId).collect(from, to, all);
+        }
+        all.sort(Comparator.comparingLong(interval -> interval[0]));
+
+        List<long[]> merged = new ArrayList<long[]>(all.size());
+        for (long[] interval : all) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && interval[0] <= last[1]) {
+                last[1] = Math.max(last[1], interval[1]);
+            } else {
+                merged.add(new long[]{interval[0], interval[1]});
+            }
+        }
+        return merged;
+    }
+
+    static long millis(Instant time) {
+        return time.toEpochMilli();
+    }
+
+    static Instant time(long millis) {
+        return Instant.ofEpochMilli(millis);
+    }
+}
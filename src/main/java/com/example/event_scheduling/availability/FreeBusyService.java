@@ -0,0 +1,72 @@
+package com.example.event_scheduling.availability;
+
+import com.example.event_scheduling.dto.FreeBusyDTO;
+import com.example.event_scheduling.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class FreeBusyService {
+
+    private final BusyTimeIndex busyTimeIndex;
+    private final EventRepository eventRepository;
+    private final int maxUsers;
+    private final Duration maxWindow;
+    private final Logger logger = LoggerFactory.getLogger(FreeBusyService.class);
+
+    @Autowired
+    public FreeBusyService(BusyTimeIndex busyTimeIndex,
+                           EventRepository eventRepository,
+                           @Value("${availability.max-users:50}") int maxUsers,
+                           @Value("${availability.max-window:P90D}") Duration maxWindow) {
+        this.busyTimeIndex = busyTimeIndex;
+        this.eventRepository = eventRepository;
+        this.maxUsers = maxUsers;
+        this.maxWindow = maxWindow;
+    }
+
+    /**
+     * Whether {@code callerId} may see the busy time of {@code userIds}: their own, and that of
+     * members of events the caller created.
+     */
+    public boolean canView(Long callerId, List<Long> userIds) {
+        if (userIds == null) return true;
+
+        Set<Long> others = new HashSet<Long>(userIds);
+        others.remove(callerId);
+        return others.isEmpty() || eventRepository.countMembersOfEventsCreatedBy(callerId, others) == others.size();
+    }
+
+    /**
+     * Merged busy time of the users in [from, to) and the windows of at least {@code minLength}
+     * where all of them are free. Only finalized timeslots count as busy.
+     */
+    public FreeBusyDTO getFreeBusy(List<Long> userIds, Instant from, Instant to, Duration minLength) {
+        if (userIds == null || userIds.isEmpty() || userIds.size() > maxUsers) {
+            logger.error("Free/busy needs between 1 and {} users, got {}", maxUsers, userIds == null ? 0 : userIds.size());
+            return null;
+        }
+
+        if (from == null || to == null || !from.isBefore(to) || Duration.between(from, to).compareTo(maxWindow) > 0) {
+            logger.error("Invalid free/busy window {} to {}, at most {} is allowed", from, to, maxWindow);
+            return null;
+        }
+
+        if (minLength == null || minLength.isNegative()) {
+            logger.error("Invalid minimum free window {}", minLength);
+            return null;
+        }
+
+        return new FreeBusyDTO(busyTimeIndex.busy(userIds, from, to),
+                busyTimeIndex.freeWindows(userIds, from, to, minLength));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.event_scheduling.availability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One user's finalized timeslots as epoch-millis intervals. Reads go to {@code merged}, the
+ * union of the intervals as a sorted array of disjoint {@code start, end} pairs, so overlap
+ * checks are a binary search without locking or allocation. Writes (finalize, decline) are
+ * rare and replace the array; the per-event intervals are kept so a removal can rebuild it.
+ */
+final class UserBusyTimes {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<Long, long[]> byEvent = new HashMap<Long, long[]>();
+    private volatile long[] merged = EMPTY;
+
+    synchronized void add(Long eventId, long start, long end) {
+        put(eventId, start, end);
+        rebuild();
+    }
+
+    synchronized void remove(Long eventId) {
+        if (byEvent.remove(eventId) != null) rebuild();
+    }
+
+    /** Adds an interval without rebuilding, for filling an entry before it is shared. */
+    synchronized void put(Long eventId, long start, long end) {
+        if (start < end) byEvent.put(eventId, new long[]{start, end});
+    }
+
+    synchronized void rebuild() {
+        List<long[]> intervals = new ArrayList<long[]>(byEvent.values());
+        intervals.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        long[] out = new long[intervals.size() * 2];
+        int n = 0;
+        for (long[] interval : intervals) {
+            // absorb intervals that overlap or touch the previous one
+            if (n > 0 && interval[0] <= out[n - 1]) {
+                out[n - 1] = Math.max(out[n - 1], interval[1]);
+            } else {
+                out[n++] = interval[0];
+                out[n++] = interval[1];
+            }
+        }
+        merged = n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    boolean isFree(long start, long end) {
+        long[] m = merged;
+        int i = firstEndingAfter(m, start);
+        return i == m.length || m[i] >= end;
+    }
+
+    /** Adds the busy intervals overlapping [from, to) to {@code out} as {start, end} pairs. */
+    void collect(long from, long to, List<long[]> out) {
+        long[] m = merged;
+        for (int i = firstEndingAfter(m, from); i < m.length && m[i] < to; i += 2) {
+            out.add(new long[]{m[i], m[i + 1]});
+        }
+    }
+
+    /** The current union as sorted disjoint {@code start, end} pairs. Never modified. */
+    long[] intervals() {
+        return merged;
+    }
+
+    synchronized int size() {
+        return byEvent.size();
+    }
+
+    /** Index of the start of the first pair in {@code m} whose end is after {@code t}, or m.length. */
+    static int firstEndingAfter(long[] m, long t) {
+        int lo = 0, hi = m.length / 2;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (m[mid * 2 + 1] > t) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo * 2;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.event_scheduling.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+abstract class AbstractInvalidationBus implements InvalidationBus {
+
+    protected final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<String, List<Consumer<InvalidationMessage>>> listeners =
+            new ConcurrentHashMap<String, List<Consumer<InvalidationMessage>>>();
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(String region, String key, long version) {
+        InvalidationMessage message = new InvalidationMessage(region, key, version, nodeId);
+        deliver(message);
+        send(message);
+    }
+
+    @Override
+    public void subscribe(String region, Consumer<InvalidationMessage> listener) {
+        listeners.computeIfAbsent(region, r -> new CopyOnWriteArrayList<Consumer<InvalidationMessage>>()).add(listener);
+    }
+
+    /** Ships a locally published message to the other nodes. */
+    protected abstract void send(InvalidationMessage message);
+
+    /** Hands a message received from another node to the local subscribers. */
+    protected void receive(InvalidationMessage message) {
+        if (nodeId.equals(message.origin())) return;
+        deliver(message);
+    }
+
+    private void deliver(InvalidationMessage message) {
+        List<Consumer<InvalidationMessage>> regionListeners = listeners.get(message.region());
+        if (regionListeners == null) return;
+
+        for (Consumer<InvalidationMessage> listener : regionListeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                logger.error("Invalidation listener failed for {}: {}", message, e.toString());
+            }
+        }
+    }
+}
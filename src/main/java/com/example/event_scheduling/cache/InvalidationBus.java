@@ -0,0 +1,22 @@
+package com.example.event_scheduling.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations to every node running the service. Messages are delivered to
+ * local subscribers synchronously on publish and to other nodes by the implementation picked
+ * with {@code cache.invalidation.bus} ({@code local}, {@code jdbc} or {@code udp}).
+ */
+public interface InvalidationBus {
+
+    String UNKNOWN_EMAIL_REGION = "unknown-email";
+    String REVOKED_TOKEN_REGION = "revoked-token";
+    String CALENDAR_REGION = "calendar";
+
+    /** Id of this node, the origin of every message it publishes. */
+    String nodeId();
+
+    void publish(String region, String key, long version);
+
+    void subscribe(String region, Consumer<InvalidationMessage> listener);
+}
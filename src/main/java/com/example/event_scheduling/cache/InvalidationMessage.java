@@ -0,0 +1,9 @@
+package com.example.event_scheduling.cache;
+
+/**
+ * Tells every node that cached data for {@code key} in {@code region} changed.
+ * {@code version} is the commit time in epoch millis unless the region documents otherwise,
+ * and {@code origin} is the id of the node that published it.
+ */
+public record InvalidationMessage(String region, String key, long version, String origin) {
+}
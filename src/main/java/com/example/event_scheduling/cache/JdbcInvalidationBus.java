@@ -0,0 +1,102 @@
+package com.example.event_scheduling.cache;
+
+import com.example.event_scheduling.utils.ExpiringSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bus backed by the cache_invalidations table. Every node appends what it publishes and polls
+ * for rows newer than the last one it saw, so propagation delay is bounded by
+ * {@code cache.invalidation.poll-interval}. Rows older than {@code cache.invalidation.retention}
+ * are purged.
+ * <p>
+ * Ids are handed out at insert but rows become visible at commit, so a row can appear behind
+ * the last id seen. Each poll therefore also re-reads rows created in the last
+ * {@code cache.invalidation.lookback}, and skips messages already applied by (region, key, version).
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "jdbc")
+public class JdbcInvalidationBus extends AbstractInvalidationBus {
+
+    private static final int MAX_APPLIED = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final Duration lookback;
+    private final ExpiringSet<Applied> applied = new ExpiringSet<Applied>(MAX_APPLIED);
+    private final Logger logger = LoggerFactory.getLogger(JdbcInvalidationBus.class);
+    private long lastSeenId;
+
+    private record Applied(String region, String key, long version) {}
+
+    @Autowired
+    public JdbcInvalidationBus(JdbcTemplate jdbcTemplate,
+                               @Value("${cache.invalidation.retention:PT10M}") Duration retention,
+                               @Value("${cache.invalidation.lookback:PT10S}") Duration lookback) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = retention;
+        this.lookback = lookback;
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from cache_invalidations", Long.class);
+        this.lastSeenId = maxId == null ? 0 : maxId;
+    }
+
+    @Override
+    protected void send(InvalidationMessage message) {
+        jdbcTemplate.update("insert into cache_invalidations (region, cache_key, version, origin, created_at) values (?, ?, ?, ?, ?)",
+                message.region(), message.key(), message.version(), message.origin(),
+                new Timestamp(System.currentTimeMillis()));
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:PT1S}")
+    public synchronized void poll() {
+        long now = System.currentTimeMillis();
+        // rows that committed after an earlier poll had already moved past their id
+        List<Object[]> late = jdbcTemplate.query(
+                "select id, region, cache_key, version, origin from cache_invalidations where id <= ? and created_at >= ? and origin <> ? order by id",
+                (rs, i) -> new Object[]{rs.getLong(1), new InvalidationMessage(rs.getString(2), rs.getString(3), rs.getLong(4), rs.getString(5))},
+                lastSeenId, new Timestamp(now - lookback.toMillis()), nodeId);
+        List<Object[]> rows = jdbcTemplate.query(
+                "select id, region, cache_key, version, origin from cache_invalidations where id > ? order by id fetch first 500 rows only",
+                (rs, i) -> new Object[]{rs.getLong(1), new InvalidationMessage(rs.getString(2), rs.getString(3), rs.getLong(4), rs.getString(5))},
+                lastSeenId);
+
+        int count = 0;
+        for (Object[] row : late) {
+            if (apply((InvalidationMessage) row[1], now)) count++;
+        }
+        for (Object[] row : rows) {
+            lastSeenId = (Long) row[0];
+            if (apply((InvalidationMessage) row[1], now)) count++;
+        }
+        if (count > 0) {
+            logger.debug("Applied {} invalidations up to {}", count, lastSeenId);
+        }
+    }
+
+    private boolean apply(InvalidationMessage message, long now) {
+        if (nodeId.equals(message.origin())) return false;
+        // remembered for twice the lookback so clock skew between nodes cannot bring a row back;
+        // if the set is full the message is applied again, which is harmless for an invalidation
+        Applied key = new Applied(message.region(), message.key(), message.version());
+        if (applied.add(key, now + 2 * lookback.toMillis()) == ExpiringSet.AddResult.PRESENT) return false;
+        receive(message);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.retention:PT10M}")
+    public void purge() {
+        applied.purge();
+        jdbcTemplate.update("delete from cache_invalidations where created_at < ?",
+                new Timestamp(System.currentTimeMillis() - retention.toMillis()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.event_scheduling.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Single-node bus, messages only reach subscribers in this JVM. */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "local", matchIfMissing = true)
+public class LocalInvalidationBus extends AbstractInvalidationBus {
+
+    @Override
+    protected void send(InvalidationMessage message) {
+    }
+}
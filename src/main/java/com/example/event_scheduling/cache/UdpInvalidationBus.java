@@ -0,0 +1,112 @@
+package com.example.event_scheduling.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bus that sends each message as one UDP datagram to every configured peer
+ * ({@code cache.invalidation.udp.peers}, host:port list) and listens on
+ * {@code cache.invalidation.udp.port}. Delivery is best effort but immediate; several nodes on
+ * one machine just use different ports on the loopback address. Port 0 binds an ephemeral
+ * port, see {@link #port()}.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "udp")
+public class UdpInvalidationBus extends AbstractInvalidationBus {
+
+    private static final int MAX_DATAGRAM = 1024;
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers = new CopyOnWriteArrayList<InetSocketAddress>();
+    private final Thread receiver;
+    private final Logger logger = LoggerFactory.getLogger(UdpInvalidationBus.class);
+
+    @Autowired
+    public UdpInvalidationBus(@Value("${cache.invalidation.udp.bind-address:127.0.0.1}") String bindAddress,
+                              @Value("${cache.invalidation.udp.port:9700}") int port,
+                              @Value("${cache.invalidation.udp.peers:}") List<String> peers) throws SocketException {
+        this.socket = new DatagramSocket(new InetSocketAddress(bindAddress, port));
+        for (String peer : peers) {
+            if (!peer.isBlank()) addPeer(peer);
+        }
+
+        this.receiver = new Thread(this::receiveLoop, "invalidation-udp-" + socket.getLocalPort());
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+        logger.info("Listening for invalidations on {}, sending to {}", socket.getLocalSocketAddress(), this.peers);
+    }
+
+    /** The port actually bound, which differs from the configured one when that was 0. */
+    public int port() {
+        return socket.getLocalPort();
+    }
+
+    /** Adds a host:port peer, e.g. one whose ephemeral port is only known after it started. */
+    void addPeer(String peer) {
+        int colon = peer.lastIndexOf(':');
+        peers.add(new InetSocketAddress(peer.substring(0, colon).trim(), Integer.parseInt(peer.substring(colon + 1).trim())));
+    }
+
+    @Override
+    protected void send(InvalidationMessage message) {
+        byte[] payload = encode(message);
+        if (payload.length > MAX_DATAGRAM) {
+            logger.warn("Dropping oversized invalidation for {}/{}", message.region(), message.key());
+            return;
+        }
+
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, peer));
+            } catch (IOException e) {
+                logger.warn("Unable to send invalidation to {}: {}", peer, e.toString());
+            }
+        }
+    }
+
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                InvalidationMessage message = decode(new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8));
+                if (message != null) receive(message);
+            } catch (IOException e) {
+                if (!socket.isClosed()) logger.warn("Invalidation receive failed: {}", e.toString());
+            }
+        }
+    }
+
+    // origin|region|version|key, the key goes last so it may contain the separator
+    static byte[] encode(InvalidationMessage message) {
+        return (message.origin() + '|' + message.region() + '|' + message.version() + '|' + message.key())
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    static InvalidationMessage decode(String text) {
+        String[] parts = text.split("\\|", 4);
+        if (parts.length != 4) return null;
+        try {
+            return new InvalidationMessage(parts[1], parts[3], Long.parseLong(parts[2]), parts[0]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        socket.close();
+    }
+}
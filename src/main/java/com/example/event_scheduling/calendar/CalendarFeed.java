@@ -0,0 +1,61 @@
+package com.example.event_scheduling.calendar;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * One user's rendered feed, a VEVENT per finalized event. The ETag is a sum of per-event
+ * content hashes, so it is updated in O(1) on every change and two nodes holding the same
+ * events hand out the same tag.
+ */
+public class CalendarFeed {
+
+    private final TreeMap<Long, String> events = new TreeMap<Long, String>();
+    private long hash;
+
+    synchronized void put(Long eventId, String vevent) {
+        String previous = events.put(eventId, vevent);
+        if (previous != null) hash -= fnv(previous);
+        hash += fnv(vevent);
+    }
+
+    synchronized void remove(Long eventId) {
+        String previous = events.remove(eventId);
+        if (previous != null) hash -= fnv(previous);
+    }
+
+    public synchronized String etag() {
+        return "\"" + events.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    public synchronized int size() {
+        return events.size();
+    }
+
+    /** Writes the whole calendar, copying only references while holding the lock. */
+    public void writeTo(Writer out) throws IOException {
+        List<String> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<String>(events.values());
+        }
+
+        out.write(ICalendar.HEADER);
+        for (String vevent : snapshot) {
+            out.write(vevent);
+        }
+        out.write(ICalendar.FOOTER);
+    }
+
+    // 64-bit FNV-1a
+    private static long fnv(String s) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
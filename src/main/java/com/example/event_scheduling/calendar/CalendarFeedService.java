@@ -0,0 +1,183 @@
+package com.example.event_scheduling.calendar;
+
+import com.example.event_scheduling.cache.InvalidationBus;
+import com.example.event_scheduling.dto.CalendarEntry;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.ArchivedEventRepository;
+import com.example.event_scheduling.repository.TimeslotRepository;
+import com.example.event_scheduling.repository.UserRepository;
+import com.example.event_scheduling.utils.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a rendered iCalendar feed per user. A feed is built from the database once, with one
+ * projection query over finalized timeslots (plus the archive), and afterwards only the
+ * events that finalize or decline touch are re-rendered. At most {@code calendar.cache.max-users}
+ * feeds are kept, least recently used first out. Other nodes drop their copy of an affected
+ * user's feed through the {@link InvalidationBus}.
+ *
+ * Calendar apps subscribe by URL and cannot refresh a JWT, so each user can also be issued a
+ * secret feed token for the URL. Only its SHA-256 is stored, and issuing a new one revokes it.
+ */
+@Component
+public class CalendarFeedService {
+
+    private final UserRepository userRepository;
+    private final TimeslotRepository timeslotRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final InvalidationBus invalidationBus;
+    private final Map<Long, CalendarFeed> feeds;
+    private final SingleFlight<Long, CalendarFeed> buildFlight = new SingleFlight<Long, CalendarFeed>();
+    private final SecureRandom random = new SecureRandom();
+    // bumped on every incremental change, a build that overlapped one is served but not cached
+    private final AtomicLong changes = new AtomicLong();
+    private final Logger logger = LoggerFactory.getLogger(CalendarFeedService.class);
+
+    @Autowired
+    public CalendarFeedService(UserRepository userRepository,
+                               TimeslotRepository timeslotRepository,
+                               ArchivedEventRepository archivedEventRepository,
+                               InvalidationBus invalidationBus,
+                               @Value("${calendar.cache.max-users:10000}") int maxUsers) {
+        this.userRepository = userRepository;
+        this.timeslotRepository = timeslotRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.invalidationBus = invalidationBus;
+        this.feeds = new LinkedHashMap<Long, CalendarFeed>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CalendarFeed> eldest) {
+                return size() > maxUsers;
+            }
+        };
+
+        invalidationBus.subscribe(InvalidationBus.CALENDAR_REGION, message -> {
+            if (message.origin().equals(invalidationBus.nodeId())) return;
+            changes.incrementAndGet();
+            synchronized (feeds) {
+                feeds.remove(Long.valueOf(message.key()));
+            }
+        });
+    }
+
+    /** Returns the user's feed, or null if the user does not exist. */
+    public CalendarFeed getFeed(Long userId) {
+        synchronized (feeds) {
+            CalendarFeed feed = feeds.get(userId);
+            if (feed != null) return feed;
+        }
+        return buildFlight.execute(userId, () -> build(userId));
+    }
+
+    /** Issues a new feed token, replacing the user's previous one, or null if the user does not exist. */
+    public String rotateFeedToken(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) return null;
+
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+        user.setCalendarTokenHash(hash(token));
+        userRepository.save(user);
+        logger.info("Issued a new calendar feed token for user {}", userId);
+        return token;
+    }
+
+    /** Revokes the user's feed token, false if the user does not exist. */
+    public boolean revokeFeedToken(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) return false;
+
+        user.setCalendarTokenHash(null);
+        userRepository.save(user);
+        logger.info("Revoked the calendar feed token of user {}", userId);
+        return true;
+    }
+
+    public boolean isFeedTokenValid(Long userId, String token) {
+        if (token == null || token.isEmpty()) return false;
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || user.getCalendarTokenHash() == null) return false;
+
+        return MessageDigest.isEqual(user.getCalendarTokenHash().getBytes(StandardCharsets.US_ASCII),
+                hash(token).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CalendarFeed build(Long userId) {
+        if (!userRepository.existsById(userId)) return null;
+
+        long changesBefore = changes.get();
+        List<CalendarEntry> entries = timeslotRepository.findFinalizedForUser(userId);
+        List<CalendarEntry> archived = archivedEventRepository.findFinalizedForParticipant(userId);
+
+        CalendarFeed feed = new CalendarFeed();
+        for (CalendarEntry entry : entries) {
+            feed.put(entry.eventId(), ICalendar.vevent(entry));
+        }
+        for (CalendarEntry entry : archived) {
+            feed.put(entry.eventId(), ICalendar.vevent(entry));
+        }
+        logger.info("Built calendar feed for user {} with {} events", userId, feed.size());
+
+        if (changes.get() == changesBefore) {
+            synchronized (feeds) {
+                feeds.put(userId, feed);
+            }
+        }
+        return feed;
+    }
+
+    /** Adds or replaces the event in every cached feed of {@code userIds}. Call after commit. */
+    public void eventFinalized(CalendarEntry entry, List<Long> userIds) {
+        String vevent = ICalendar.vevent(entry);
+        changes.incrementAndGet();
+        for (Long userId : userIds) {
+            CalendarFeed feed;
+            synchronized (feeds) {
+                feed = feeds.get(userId);
+            }
+            if (feed != null) feed.put(entry.eventId(), vevent);
+            invalidationBus.publish(InvalidationBus.CALENDAR_REGION, String.valueOf(userId), System.currentTimeMillis());
+        }
+    }
+
+    /** Removes the event from the user's cached feed. Call after commit. */
+    public void eventDeclined(Long eventId, Long userId) {
+        eventDeleted(eventId, List.of(userId));
+    }
+
+    /** Removes the event from every cached feed of {@code userIds}. Call after commit. */
+    public void eventDeleted(Long eventId, List<Long> userIds) {
+        changes.incrementAndGet();
+        for (Long userId : userIds) {
+            CalendarFeed feed;
+            synchronized (feeds) {
+                feed = feeds.get(userId);
+            }
+            if (feed != null) feed.remove(eventId);
+            invalidationBus.publish(InvalidationBus.CALENDAR_REGION, String.valueOf(userId), System.currentTimeMillis());
+        }
+    }
+}
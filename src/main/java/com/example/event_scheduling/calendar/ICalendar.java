@@ -0,0 +1,90 @@
+package com.example.event_scheduling.calendar;
+
+import com.example.event_scheduling.dto.CalendarEntry;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Minimal RFC 5545 rendering for finalized events. Times are written in UTC, except the start
+ * and end of a series with a zone, which carry its TZID so clients repeat it on local time.
+ * The TZID is an IANA name, clients resolve it without a VTIMEZONE (RFC 7809).
+ */
+final class ICalendar {
+
+    static final String HEADER = "BEGIN:VCALENDAR\r\n" +
+            "VERSION:2.0\r\n" +
+            "PRODID:-//event-scheduling//calendar feed//EN\r\n" +
+            "CALSCALE:GREGORIAN\r\n";
+    static final String FOOTER = "END:VCALENDAR\r\n";
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private ICalendar() {}
+
+    static String vevent(CalendarEntry entry) {
+        String start = UTC_FORMAT.format(entry.startTime());
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("BEGIN:VEVENT\r\n");
+        line(sb, "UID:event-" + entry.eventId() + "@event-scheduling");
+        // no finalization time is stored, and the stamp must not change between renders or the ETag would
+        line(sb, "DTSTAMP:" + start);
+        if (entry.recurrenceRule() != null && entry.recurrenceZone() != null) {
+            ZoneId zone = ZoneId.of(entry.recurrenceZone());
+            line(sb, "DTSTART;TZID=" + zone.getId() + ":" + local(entry.startTime(), zone));
+            line(sb, "DTEND;TZID=" + zone.getId() + ":" + local(entry.endTime(), zone));
+        } else {
+            line(sb, "DTSTART:" + start);
+            line(sb, "DTEND:" + UTC_FORMAT.format(entry.endTime()));
+        }
+        if (entry.recurrenceRule() != null) {
+            line(sb, "RRULE:" + entry.recurrenceRule());
+        }
+        line(sb, "SUMMARY:" + escape(entry.title()));
+        if (entry.description() != null) {
+            line(sb, "DESCRIPTION:" + escape(entry.description()));
+        }
+        sb.append("END:VEVENT\r\n");
+        return sb.toString();
+    }
+
+    private static String local(Instant instant, ZoneId zone) {
+        return LOCAL_FORMAT.format(instant.atZone(zone));
+    }
+
+    static String escape(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> sb.append('\\').append(c);
+                case '\n' -> sb.append("\\n");
+                case '\r' -> { }
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // content lines longer than 75 octets are folded with CRLF + space, never inside a UTF-8 sequence
+    private static void line(StringBuilder sb, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int cp = content.codePointAt(i);
+            int size = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+            if (octets + size > MAX_LINE_OCTETS) {
+                sb.append("\r\n ");
+                octets = 1;
+            }
+            sb.appendCodePoint(cp);
+            octets += size;
+            i += Character.charCount(cp);
+        }
+        sb.append("\r\n");
+    }
+}
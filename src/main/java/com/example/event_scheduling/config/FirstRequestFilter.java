@@ -0,0 +1,60 @@
+package com.example.event_scheduling.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long after JVM start the first request was answered, which is what a new
+ * instance under autoscaling actually waits for. Logged once and exposed as
+ * {@code application.first-request.time} next to Spring Boot's {@code application.ready.time}.
+ */
+// outermost, so requests that security rejects are counted too
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FirstRequestFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private volatile boolean seen;
+    private final Logger logger = LoggerFactory.getLogger(FirstRequestFilter.class);
+
+    @Autowired
+    public FirstRequestFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (!seen) recordFirst(request);
+    }
+
+    private synchronized void recordFirst(HttpServletRequest request) {
+        if (seen) return;
+        seen = true;
+
+        long millis = ManagementFactory.getRuntimeMXBean().getUptime();
+        logger.info("First request ({} {}) answered {} ms after JVM start", request.getMethod(), request.getRequestURI(), millis);
+        TimeGauge.builder("application.first-request.time", () -> millis, TimeUnit.MILLISECONDS)
+                .description("Time from JVM start until the first request was answered")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.event_scheduling.config;
+
+import com.example.event_scheduling.dto.*;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Reflection and resource hints a native image needs beyond what Spring AOT infers.
+ * jjwt 0.11 creates its implementation classes by name and finds its Jackson serializer
+ * through {@code META-INF/services}. datasource-proxy wraps JDBC objects in JDK proxies, whose
+ * interface lists must be known at build time. The DTOs are registered for Jackson binding as a whole,
+ * since some are only reached through generic {@link ApiResponse} payloads or streamed
+ * responses that AOT cannot see.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    static final List<String> JJWT_CLASSES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    static final List<Class<?>> JDBC_PROXY_TYPES = List.of(
+            Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class);
+
+    static final List<Class<?>> DTO_CLASSES = List.of(
+            ApiResponse.class, AvailabilityWindowDTO.class, CalendarEntry.class, CreateEventRequest.class,
+            EventDTO.class, EventDeletionDTO.class, FreeBusyDTO.class, IntervalDTO.class, LoginRequest.class,
+            OccurrenceDTO.class, RefreshRequest.class, SignupRequest.class, TimeslotDTO.class, TokenResponse.class,
+            UserInterval.class, VoteDTO.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String className : JJWT_CLASSES) {
+            hints.reflection().registerType(TypeReference.of(className),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        for (Class<?> type : JDBC_PROXY_TYPES) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, type);
+        }
+
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                DTO_CLASSES.toArray(new Class<?>[0]));
+    }
+}
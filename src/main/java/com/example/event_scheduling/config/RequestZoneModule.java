@@ -0,0 +1,39 @@
+package com.example.event_scheduling.config;
+
+import com.example.event_scheduling.utils.TimeZones;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes {@link Instant} values in JSON as ISO-8601 with the offset of the request's zone,
+ * e.g. {@code 2025-05-15T12:00:00+02:00}, or with {@code Z} when the zone is UTC.
+ */
+public class RequestZoneModule extends SimpleModule {
+
+    public RequestZoneModule() {
+        super("RequestZoneModule");
+        addSerializer(Instant.class, new Serializer());
+    }
+
+    static class Serializer extends StdScalarSerializer<Instant> {
+        Serializer() {
+            super(Instant.class);
+        }
+
+        @Override
+        public void serialize(Instant value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            ZoneId zone = TimeZones.current();
+            gen.writeString(zone == ZoneOffset.UTC
+                    ? value.toString()
+                    : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value.atZone(zone)));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.event_scheduling.config;
+
+import com.example.event_scheduling.cache.InvalidationBus;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * Keeps background work running when {@code spring.main.lazy-initialization} is on (the
+ * {@code faststart} profile). A lazy bean is only created when something first uses it, so
+ * scheduled jobs would never start and peers' invalidations would go unheard until then.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter backgroundBeans() {
+        return (beanName, beanDefinition, beanType) ->
+                InvalidationBus.class.isAssignableFrom(beanType) || hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.event_scheduling.config;
+
+import com.example.event_scheduling.dto.ApiResponse;
+import com.example.event_scheduling.utils.TimeZones;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+/**
+ * Reads the {@value TimeZones#HEADER} header so timestamps without an offset are parsed, and
+ * JSON timestamps are written, in the client's zone instead of the server's.
+ */
+@Component
+public class TimeZoneFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public TimeZoneFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String id = request.getHeader(TimeZones.HEADER);
+        if (id == null || id.isBlank()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ZoneId zone;
+        try {
+            zone = TimeZones.of(id.trim());
+        } catch (DateTimeException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ApiResponse<String>("Unknown time zone " + id, null));
+            return;
+        }
+
+        TimeZones.setCurrent(zone);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TimeZones.clearCurrent();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.event_scheduling.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary encodings of the API, picked through the Accept header
+ * ({@code application/cbor} or {@code application/x-jackson-smile}).
+ * JSON stays the default and writes instants in the request's zone. Both binary formats
+ * send timestamps as epoch milliseconds instead of ISO strings.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    // picked up by the JSON ObjectMapper; the binary converters below install their own modules
+    @Bean
+    public Module requestZoneModule() {
+        return new RequestZoneModule();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder
+                .factory(new CBORFactory())
+                .modulesToInstall(new EpochMillisModule())
+                .build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder
+                .factory(new SmileFactory())
+                .modulesToInstall(new EpochMillisModule())
+                .build());
+    }
+}
@@ -2,19 +2,25 @@ package com.example.event_scheduling.controller;
 
 import com.example.event_scheduling.dto.ApiResponse;
 import com.example.event_scheduling.dto.LoginRequest;
+import com.example.event_scheduling.dto.RefreshRequest;
 import com.example.event_scheduling.dto.SignupRequest;
+import com.example.event_scheduling.dto.TokenResponse;
 import com.example.event_scheduling.model.User;
 import com.example.event_scheduling.security.JwtUtil;
+import com.example.event_scheduling.security.TokenRevocationList;
 import com.example.event_scheduling.service.AuthService;
+import com.example.event_scheduling.utils.ExpiringSet.AddResult;
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/auth")
@@ -22,44 +28,138 @@ public class AuthController {
 
     private final AuthService authService;
     private final JwtUtil jwt;
+    private final TokenRevocationList revocationList;
     private final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
     @Autowired
     public AuthController(AuthService authService,
-                          JwtUtil jwt) {
+                          JwtUtil jwt,
+                          TokenRevocationList revocationList) {
         this.authService = authService;
         this.jwt = jwt;
+        this.revocationList = revocationList;
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<ApiResponse<String>> signup(@RequestBody SignupRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<TokenResponse>>> signup(@RequestBody SignupRequest request) {
         logger.info("Currently attempting a signup request for {}", request);
-        ApiResponse<String> response = new ApiResponse<String>();
-        User user = authService.signup(request.getEmail(), request.getFirstName(), request.getLastName(), request.getPassword());
+        try {
+            return authService.signupAsync(request.getEmail(), request.getFirstName(), request.getLastName(), request.getPassword())
+                    .thenApply(user -> {
+                        ApiResponse<TokenResponse> response = new ApiResponse<TokenResponse>();
+                        if (user == null) {
+                            response.message = "Email already exists";
+                            return ResponseEntity.badRequest().body(response);
+                        }
 
-        if (user == null) {
-            response.message = "Email already exists";
-            return ResponseEntity.badRequest().body(response);
+                        response.message = "Successfully created user!";
+                        response.data = issueTokens(user);
+                        return ResponseEntity.ok(response);
+                    });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing pool saturated, rejecting signup for {}", request.getEmail());
+            return CompletableFuture.completedFuture(serviceUnavailable());
         }
-
-        String token = jwt.generateToken(user.getEmail());
-        response.message = "Successfully created user!";
-        response.data = token;
-        return ResponseEntity.ok(response);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<String>> login(@RequestBody LoginRequest request) {
-        ApiResponse<String> response = new ApiResponse<String>();
-        User user = authService.authenticate(request.getEmail(), request.getPassword());
+    public CompletableFuture<ResponseEntity<ApiResponse<TokenResponse>>> login(@RequestBody LoginRequest request) {
+        try {
+            return authService.authenticateAsync(request.getEmail(), request.getPassword())
+                    .thenApply(user -> {
+                        ApiResponse<TokenResponse> response = new ApiResponse<TokenResponse>();
+                        if (user == null) {
+                            response.message = "Invalid credentials";
+                            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+                        }
+
+                        response.message = "User successfully logged in!";
+                        response.data = issueTokens(user);
+                        return ResponseEntity.ok(response);
+                    });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing pool saturated, rejecting login for {}", request.getEmail());
+            return CompletableFuture.completedFuture(serviceUnavailable());
+        }
+    }
+
+    /**
+     * Trades a refresh token for a new access/refresh pair. The old refresh token is revoked
+     * first, and only the request that revoked it gets new tokens, so each one can only be used
+     * once even by concurrent requests.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<TokenResponse>> refresh(@RequestBody RefreshRequest request) {
+        ApiResponse<TokenResponse> response = new ApiResponse<TokenResponse>();
+        Claims claims = jwt.parseClaims(request.getRefreshToken());
+
+        if (claims == null
+                || !JwtUtil.REFRESH_TYPE.equals(claims.get(JwtUtil.TYPE_CLAIM, String.class))
+                || revocationList.isRevoked(claims.getId())) {
+            response.message = "Invalid refresh token";
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        // refreshes are rare, so this is where we confirm the account still exists
+        User user = authService.getUser(claims.get(JwtUtil.USER_ID_CLAIM, Long.class));
         if (user == null) {
-            response.message = "Invalid credentials";
+            response.message = "Invalid refresh token";
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        // isRevoked above only saves the user lookup, the revoke decides who wins a race
+        AddResult revoked = revocationList.revoke(claims);
+        if (revoked == AddResult.FULL) {
+            return revocationUnavailable("refresh");
+        }
+        if (revoked == AddResult.PRESENT) {
+            logger.warn("Refresh token {} for user {} was already used", claims.getId(), user.getId());
+            response.message = "Invalid refresh token";
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
         }
 
-        String token = jwt.generateToken(user.getEmail());
-        response.message = "User successfully logged in!";
-        response.data = token;
+        response.message = "Token successfully refreshed!";
+        response.data = issueTokens(user);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(@RequestBody(required = false) RefreshRequest request,
+                                                      @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (request != null && request.getRefreshToken() != null) {
+            Claims refresh = jwt.parseClaims(request.getRefreshToken());
+            if (refresh != null && revocationList.revoke(refresh) == AddResult.FULL) {
+                return revocationUnavailable("logout");
+            }
+        }
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            Claims access = jwt.parseClaims(authHeader.substring(7));
+            if (access != null && revocationList.revoke(access) == AddResult.FULL) {
+                return revocationUnavailable("logout");
+            }
+        }
+
+        return ResponseEntity.ok(new ApiResponse<String>("Successfully logged out", null));
+    }
+
+    private TokenResponse issueTokens(User user) {
+        return new TokenResponse(jwt.generateToken(user),
+                jwt.generateRefreshToken(user),
+                JwtUtil.ACCESS_EXPIRATION / 1000);
+    }
+
+    // a token we cannot revoke would stay valid, so the request fails instead of pretending it worked
+    private <T> ResponseEntity<ApiResponse<T>> revocationUnavailable(String action) {
+        logger.error("Refusing {}, the token could not be revoked", action);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse<T>("Tokens cannot be revoked right now, please retry", null));
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse<T>("Authentication is temporarily overloaded, please retry", null));
+    }
 }
@@ -1,18 +1,36 @@
 package com.example.event_scheduling.controller;
 
+import com.example.event_scheduling.availability.AvailabilityService;
 import com.example.event_scheduling.dto.ApiResponse;
+import com.example.event_scheduling.dto.AvailabilityWindowDTO;
 import com.example.event_scheduling.dto.CreateEventRequest;
 import com.example.event_scheduling.dto.EventDTO;
+import com.example.event_scheduling.dto.EventDeletionDTO;
+import com.example.event_scheduling.dto.OccurrenceDTO;
 import com.example.event_scheduling.dto.TimeslotDTO;
+import com.example.event_scheduling.security.AuthenticatedUser;
+import com.example.event_scheduling.service.EventPurgeService;
 import com.example.event_scheduling.service.EventService;
+import com.example.event_scheduling.service.IdempotencyService;
+import com.example.event_scheduling.service.OccurrenceService;
 import com.example.event_scheduling.utils.Utils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -20,18 +38,44 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyService idempotencyService;
+    private final OccurrenceService occurrenceService;
+    private final AvailabilityService availabilityService;
+    private final EventPurgeService eventPurgeService;
     private final Logger logger = LoggerFactory.getLogger(EventController.class);
 
+    // formats the API can answer in, in the order the message converters try them
+    private static final List<MediaType> WIRE_FORMATS = List.of(MediaType.APPLICATION_JSON,
+            MediaType.valueOf("application/x-jackson-smile"), MediaType.APPLICATION_CBOR);
+
+    // getVotes responses with more votes than this are streamed instead of buffered
+    @Value("${events.votes.stream-threshold:1000}")
+    private long voteStreamThreshold;
+
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService,
+                           ObjectMapper objectMapper,
+                           IdempotencyService idempotencyService,
+                           OccurrenceService occurrenceService,
+                           AvailabilityService availabilityService,
+                           EventPurgeService eventPurgeService) {
         this.eventService = eventService;
+        this.objectMapper = objectMapper;
+        this.idempotencyService = idempotencyService;
+        this.occurrenceService = occurrenceService;
+        this.availabilityService = availabilityService;
+        this.eventPurgeService = eventPurgeService;
     }
 
     @GetMapping("/getEvents")
-    public ResponseEntity<ApiResponse<List<EventDTO>>> getEvents(@RequestParam Long userId) {
+    public ResponseEntity<ApiResponse<List<EventDTO>>> getEvents(@RequestParam Long userId,
+                                                                 @RequestParam(required = false) Boolean includeArchived) {
         logger.info("Retrieving events for user {}", userId);
         ApiResponse<List<EventDTO>> response = new ApiResponse<List<EventDTO>>();
-        List<EventDTO> events = eventService.getEvents(userId);
+        List<EventDTO> events = Boolean.TRUE.equals(includeArchived)
+                ? eventService.getEventsIncludingArchived(userId)
+                : eventService.getEvents(userId);
 
         if (events == null) {
             response.message = "User not found";
@@ -44,17 +88,25 @@ public class EventController {
     }
 
     @PostMapping("/create")
-    public ResponseEntity<ApiResponse<EventDTO>> createEvent(@RequestBody CreateEventRequest request) {
+    public ResponseEntity<ApiResponse<EventDTO>> createEvent(@RequestBody CreateEventRequest request,
+                                                             @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         logger.info("Creating event...");
+        return idempotencyService.execute(idempotencyKey, "create", request.toString(),
+                () -> doCreateEvent(request));
+    }
+
+    private ResponseEntity<ApiResponse<EventDTO>> doCreateEvent(CreateEventRequest request) {
         ApiResponse<EventDTO> response = new ApiResponse<EventDTO>();
         try {
             EventDTO newEvent = eventService.createEvent(
                     request.getCreatorId(),
                     request.getTitle(),
                     request.getDescription(),
-                    Utils.getUTCDate(request.getStartDate()),
-                    Utils.getUTCDate(request.getEndDate()),
-                    request.getRequiredVotes()
+                    Utils.getInstant(request.getStartDate()),
+                    Utils.getInstant(request.getEndDate()),
+                    request.getRequiredVotes(),
+                    request.getRecurrence(),
+                    request.getTimeZone()
             );
 
             if (newEvent == null) {
@@ -123,8 +175,17 @@ public class EventController {
     public ResponseEntity<ApiResponse<EventDTO>> propose(@RequestParam Long eventId,
                                                          @RequestParam Long userId,
                                                          @RequestParam String startTime,
-                                                         @RequestParam String endTime) {
+                                                         @RequestParam String endTime,
+                                                         @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         logger.info("User {} proposing timeslot {} to {} for event {}", userId, startTime, endTime, eventId);
+        return idempotencyService.execute(idempotencyKey, "propose", eventId + "/" + userId + "/" + startTime + "/" + endTime,
+                () -> doPropose(eventId, userId, startTime, endTime));
+    }
+
+    private ResponseEntity<ApiResponse<EventDTO>> doPropose(Long eventId,
+                                                            Long userId,
+                                                            String startTime,
+                                                            String endTime) {
         ApiResponse<EventDTO> response = new ApiResponse<EventDTO>();
 
         try {
@@ -133,8 +194,8 @@ public class EventController {
 
             EventDTO eventResponse = eventService.proposeTimeslot(eventId,
                                                                   userId,
-                                                                  Utils.getUTCDate(startTime),
-                                                                  Utils.getUTCDate(endTime));
+                                                                  Utils.getInstant(startTime),
+                                                                  Utils.getInstant(endTime));
             if (eventResponse == null) {
                 throw new Exception("Failed to propose timeslot");
             }
@@ -154,8 +215,17 @@ public class EventController {
     public ResponseEntity<ApiResponse<EventDTO>> vote(@RequestParam Long userId,
                                                                    @RequestParam Long eventId,
                                                                    @RequestParam Long timeslotId,
-                                                                   @RequestParam(required = false) Boolean remove) {
+                                                                   @RequestParam(required = false) Boolean remove,
+                                                                   @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         logger.info("User {} voting for timeslot {} on event {}", userId, timeslotId, eventId);
+        return idempotencyService.execute(idempotencyKey, "vote", userId + "/" + eventId + "/" + timeslotId + "/" + remove,
+                () -> doVote(userId, eventId, timeslotId, remove));
+    }
+
+    private ResponseEntity<ApiResponse<EventDTO>> doVote(Long userId,
+                                                         Long eventId,
+                                                         Long timeslotId,
+                                                         Boolean remove) {
         ApiResponse<EventDTO> response = new ApiResponse<EventDTO>();
 
         try {
@@ -182,10 +252,32 @@ public class EventController {
     @GetMapping("/getVotes")
     public ResponseEntity<ApiResponse<List<TimeslotDTO>>> getVotes(@RequestParam Long userId,
                                                                    @RequestParam Long eventId,
-                                                                   @RequestParam(required = false) Long timeslotId) {
+                                                                   @RequestParam(required = false) Long timeslotId,
+                                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                                   HttpServletResponse servletResponse) throws IOException {
         logger.info("User {} attempting to view {} vote counts for event {}", userId, timeslotId == null ? "all" : 1, eventId);
         ApiResponse<List<TimeslotDTO>> response = new ApiResponse<List<TimeslotDTO>>();
 
+        Long voteCount;
+        try {
+            voteCount = eventService.countVisibleVotes(userId, eventId, timeslotId);
+            if (voteCount == null) {
+                throw new Exception("Unable to retrieve votes.");
+            }
+        } catch (Exception e) {
+            logger.error("Exception encountered in viewing votes: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        if (voteCount > voteStreamThreshold && prefersJson(accept)) {
+            logger.info("Streaming {} votes for event {}", voteCount, eventId);
+            streamVotes(eventId, timeslotId, servletResponse);
+            // the body has already been written, nothing left for the message converters
+            return null;
+        }
+
         try {
             List<TimeslotDTO> timeslotVotes = eventService.getVotes(userId, eventId, timeslotId);
             if (timeslotVotes == null) {
@@ -228,4 +320,220 @@ public class EventController {
             return ResponseEntity.badRequest().body(response);
         }
     }
+
+    @DeleteMapping("/{eventId}")
+    public ResponseEntity<ApiResponse<EventDeletionDTO>> deleteEvent(@PathVariable Long eventId,
+                                                                     @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        ApiResponse<EventDeletionDTO> response = new ApiResponse<EventDeletionDTO>();
+
+        if (currentUser == null) {
+            response.message = "Sign in to delete events";
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+
+        // the creator check in EventService runs against the token's user, never a request parameter
+        Long userId = currentUser.id();
+        logger.info("User {} deleting event {}", userId, eventId);
+
+        try {
+            String eventResponse = eventService.deleteEvent(eventId, userId);
+            if (eventResponse == null) {
+                throw new Exception("Unable to delete event");
+            }
+
+            // the event is gone for readers now, its votes and timeslots are purged in the background
+            response.message = "Success";
+            response.data = eventPurgeService.getProgress(eventId, userId);
+            return ResponseEntity.accepted().body(response);
+        } catch (Exception e) {
+            logger.error("Exception encountered in deleting event: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/{eventId}/deletion")
+    public ResponseEntity<ApiResponse<EventDeletionDTO>> getDeletion(@PathVariable Long eventId,
+                                                                     @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        ApiResponse<EventDeletionDTO> response = new ApiResponse<EventDeletionDTO>();
+
+        if (currentUser == null) {
+            response.message = "Sign in to follow event deletions";
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+
+        Long userId = currentUser.id();
+        logger.info("User {} checking deletion of event {}", userId, eventId);
+
+        try {
+            EventDeletionDTO deletion = eventPurgeService.getProgress(eventId, userId);
+            if (deletion == null) {
+                throw new Exception("No deletion found for event");
+            }
+
+            response.message = "Success";
+            response.data = deletion;
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Exception encountered in checking event deletion: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/occurrences")
+    public ResponseEntity<ApiResponse<List<OccurrenceDTO>>> getOccurrences(@RequestParam Long userId,
+                                                                           @RequestParam Long eventId,
+                                                                           @RequestParam String from,
+                                                                           @RequestParam String to) {
+        logger.info("User {} viewing occurrences of event {} from {} to {}", userId, eventId, from, to);
+        ApiResponse<List<OccurrenceDTO>> response = new ApiResponse<List<OccurrenceDTO>>();
+
+        try {
+            List<OccurrenceDTO> occurrences = occurrenceService.getOccurrences(userId, eventId,
+                    Utils.getInstant(from), Utils.getInstant(to));
+            if (occurrences == null) {
+                throw new Exception("Unable to retrieve occurrences.");
+            }
+
+            response.message = "Success";
+            response.data = occurrences;
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Exception encountered in viewing occurrences: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @PostMapping("/occurrences/override")
+    public ResponseEntity<ApiResponse<OccurrenceDTO>> overrideOccurrence(@RequestParam Long userId,
+                                                                         @RequestParam Long eventId,
+                                                                         @RequestParam String originalStart,
+                                                                         @RequestParam(required = false) String startTime,
+                                                                         @RequestParam(required = false) String endTime,
+                                                                         @RequestParam(required = false) Boolean cancel) {
+        logger.info("User {} changing occurrence {} of event {}", userId, originalStart, eventId);
+        ApiResponse<OccurrenceDTO> response = new ApiResponse<OccurrenceDTO>();
+
+        try {
+            OccurrenceDTO occurrence = occurrenceService.overrideOccurrence(userId,
+                                                                            eventId,
+                                                                            Utils.getInstant(originalStart),
+                                                                            startTime == null ? null : Utils.getInstant(startTime),
+                                                                            endTime == null ? null : Utils.getInstant(endTime),
+                                                                            Boolean.TRUE.equals(cancel));
+            if (occurrence == null) {
+                throw new Exception("Failed to change occurrence");
+            }
+
+            response.message = "Success";
+            response.data = occurrence;
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Exception encountered in changing occurrence: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponse<List<AvailabilityWindowDTO>>> getAvailability(@RequestParam Long userId,
+                                                                                    @RequestParam Long eventId,
+                                                                                    @RequestParam String from,
+                                                                                    @RequestParam String to,
+                                                                                    @RequestParam(defaultValue = "60") Integer durationMinutes,
+                                                                                    @RequestParam(defaultValue = "30") Integer stepMinutes,
+                                                                                    @RequestParam(defaultValue = "10") Integer limit) {
+        logger.info("User {} searching availability for event {} from {} to {}", userId, eventId, from, to);
+        ApiResponse<List<AvailabilityWindowDTO>> response = new ApiResponse<List<AvailabilityWindowDTO>>();
+
+        try {
+            List<AvailabilityWindowDTO> windows = availabilityService.findWindows(userId,
+                                                                                  eventId,
+                                                                                  Utils.getInstant(from),
+                                                                                  Utils.getInstant(to),
+                                                                                  Duration.ofMinutes(durationMinutes),
+                                                                                  Duration.ofMinutes(stepMinutes),
+                                                                                  limit);
+            if (windows == null) {
+                throw new Exception("Unable to search availability.");
+            }
+
+            response.message = "Success";
+            response.data = windows;
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Exception encountered in availability search: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Writes the votes straight to the response. Once it fails the status and part of the body
+     * may already be sent, so the exception is rethrown for the container to drop the connection
+     * rather than answering with an error entity.
+     */
+    private void streamVotes(Long eventId, Long timeslotId, HttpServletResponse servletResponse) throws IOException {
+        servletResponse.setStatus(HttpStatus.OK.value());
+        servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try {
+            JsonGenerator gen = objectMapper.createGenerator(servletResponse.getOutputStream());
+            // closing must not complete the JSON of a stream that failed halfway
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            gen.writeStartObject();
+            gen.writeStringField("message", "Success");
+            gen.writeFieldName("data");
+            eventService.writeVotes(eventId, timeslotId, gen);
+            gen.writeEndObject();
+            gen.close();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Streaming votes for event {} failed after the response started, aborting: {}", eventId, e.toString());
+            throw e;
+        }
+    }
+
+    /**
+     * Whether JSON is the format the client wants most, honouring q-values: of the formats the
+     * API speaks, the one whose most specific matching Accept range has the highest quality wins,
+     * ties going to the earlier one as with the message converters.
+     */
+    private boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) return true;
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false; // the buffered path answers with the usual 400/406
+        }
+
+        MediaType best = null;
+        double bestQuality = 0;
+        for (MediaType format : WIRE_FORMATS) {
+            double quality = quality(format, accepted);
+            if (quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return MediaType.APPLICATION_JSON.equals(best);
+    }
+
+    // quality of the most specific Accept range that includes the format, 0 if none does
+    private static double quality(MediaType format, List<MediaType> accepted) {
+        MediaType match = null;
+        for (MediaType range : accepted) {
+            if (range.includes(format) && (match == null || range.isMoreSpecific(match))) {
+                match = range;
+            }
+        }
+        return match == null ? 0 : match.getQualityValue();
+    }
 }
@@ -0,0 +1,189 @@
+package com.example.event_scheduling.controller;
+
+import com.example.event_scheduling.availability.FreeBusyService;
+import com.example.event_scheduling.calendar.CalendarFeed;
+import com.example.event_scheduling.calendar.CalendarFeedService;
+import com.example.event_scheduling.dto.ApiResponse;
+import com.example.event_scheduling.dto.FreeBusyDTO;
+import com.example.event_scheduling.security.AuthenticatedUser;
+import com.example.event_scheduling.utils.Utils;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/users")
+public class UserController {
+
+    private static final String CALENDAR_CONTENT_TYPE = "text/calendar;charset=UTF-8";
+
+    private final CalendarFeedService calendarFeedService;
+    private final FreeBusyService freeBusyService;
+    private final Logger logger = LoggerFactory.getLogger(UserController.class);
+
+    @Autowired
+    public UserController(CalendarFeedService calendarFeedService,
+                          FreeBusyService freeBusyService) {
+        this.calendarFeedService = calendarFeedService;
+        this.freeBusyService = freeBusyService;
+    }
+
+    @GetMapping("/freebusy")
+    public ResponseEntity<ApiResponse<FreeBusyDTO>> getFreeBusy(@RequestParam List<Long> userIds,
+                                                               @RequestParam String from,
+                                                               @RequestParam String to,
+                                                               @RequestParam(defaultValue = "30") Integer minMinutes,
+                                                               @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        logger.info("Retrieving free/busy for users {} from {} to {}", userIds, from, to);
+        ApiResponse<FreeBusyDTO> response = new ApiResponse<FreeBusyDTO>();
+
+        if (currentUser == null || !freeBusyService.canView(currentUser.id(), userIds)) {
+            response.message = "Users can only read their own free/busy and that of members of events they created";
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+
+        try {
+            FreeBusyDTO freeBusy = freeBusyService.getFreeBusy(userIds, Utils.getInstant(from), Utils.getInstant(to),
+                    Duration.ofMinutes(minMinutes));
+            if (freeBusy == null) {
+                throw new Exception("Unable to retrieve free/busy information.");
+            }
+
+            response.message = "Success";
+            response.data = freeBusy;
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Exception encountered in free/busy: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Issues a secret token for subscribing to the caller's calendar feed by URL, replacing the
+     * previous one. The token is only returned here.
+     */
+    @PostMapping("/{userId}/calendar-token")
+    public ResponseEntity<ApiResponse<String>> rotateCalendarToken(@PathVariable Long userId,
+                                                                   @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        logger.info("Issuing calendar feed token for user {}", userId);
+        ApiResponse<String> response = new ApiResponse<String>();
+
+        if (currentUser == null || currentUser.id().longValue() != userId.longValue()) {
+            response.message = "Users can only manage their own calendar token";
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+
+        try {
+            String token = calendarFeedService.rotateFeedToken(userId);
+            if (token == null) {
+                throw new Exception("User not found");
+            }
+
+            response.message = "Success";
+            response.data = token;
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Exception encountered issuing calendar token: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @DeleteMapping("/{userId}/calendar-token")
+    public ResponseEntity<ApiResponse<String>> revokeCalendarToken(@PathVariable Long userId,
+                                                                   @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        logger.info("Revoking calendar feed token for user {}", userId);
+        ApiResponse<String> response = new ApiResponse<String>();
+
+        if (currentUser == null || currentUser.id().longValue() != userId.longValue()) {
+            response.message = "Users can only manage their own calendar token";
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+
+        try {
+            if (!calendarFeedService.revokeFeedToken(userId)) {
+                throw new Exception("User not found");
+            }
+
+            response.message = "Success";
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            logger.error("Exception encountered revoking calendar token: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * The user's calendar feed, for the user signed in with a JWT, or for anyone holding the
+     * user's feed token in {@code token}, which is how calendar apps subscribe.
+     */
+    @GetMapping("/{userId}/calendar.ics")
+    public ResponseEntity<ApiResponse<String>> getCalendar(@PathVariable Long userId,
+                                                           @RequestParam(required = false) String token,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                           @AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                           HttpServletResponse servletResponse) throws IOException {
+        logger.info("Retrieving calendar feed for user {}", userId);
+        ApiResponse<String> response = new ApiResponse<String>();
+
+        boolean self = currentUser != null && currentUser.id().longValue() == userId.longValue();
+        if (!self && !calendarFeedService.isFeedTokenValid(userId, token)) {
+            response.message = "Users can only read their own calendar";
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+
+        CalendarFeed feed;
+        try {
+            feed = calendarFeedService.getFeed(userId);
+            if (feed == null) {
+                throw new Exception("User not found");
+            }
+        } catch (Exception e) {
+            logger.error("Exception encountered in calendar feed: {}", e.toString());
+            response.message = e.toString();
+            response.data = null;
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        String etag = feed.etag();
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        servletResponse.setStatus(HttpStatus.OK.value());
+        servletResponse.setContentType(CALENDAR_CONTENT_TYPE);
+        servletResponse.setHeader(HttpHeaders.ETAG, etag);
+        servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        // past this point the status may be sent, a failed write is rethrown for the container
+        // to drop the connection instead of answering with a 400 after the body started
+        try {
+            Writer out = new BufferedWriter(new OutputStreamWriter(servletResponse.getOutputStream(), StandardCharsets.UTF_8));
+            feed.writeTo(out);
+            out.close();
+        } catch (IOException e) {
+            logger.error("Writing calendar feed for user {} failed after the response started, aborting: {}", userId, e.toString());
+            throw e;
+        }
+        // the body has already been written, nothing left for the message converters
+        return null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.event_scheduling.dto;
+
+import java.time.Instant;
+
+public record AvailabilityWindowDTO(Instant startTime,
+                                    Instant endTime,
+                                    Integer available,
+                                    Integer total) {
+}
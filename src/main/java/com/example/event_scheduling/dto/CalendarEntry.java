@@ -0,0 +1,12 @@
+package com.example.event_scheduling.dto;
+
+import java.time.Instant;
+
+public record CalendarEntry(Long eventId,
+                            String title,
+                            String description,
+                            Instant startTime,
+                            Instant endTime,
+                            String recurrenceRule,
+                            String recurrenceZone) {
+}
@@ -14,4 +14,6 @@ public class CreateEventRequest {
     private Integer requiredVotes;
     private String startDate;
     private String endDate;
+    private String recurrence;
+    private String timeZone;
 }
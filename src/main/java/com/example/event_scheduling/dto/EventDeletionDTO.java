@@ -0,0 +1,11 @@
+package com.example.event_scheduling.dto;
+
+public record EventDeletionDTO(Long eventId,
+                               String status,
+                               Long votesPurged,
+                               Long timeslotsPurged,
+                               Long participantsPurged,
+                               Long votesRemaining,
+                               Long timeslotsRemaining,
+                               Long participantsRemaining) {
+}
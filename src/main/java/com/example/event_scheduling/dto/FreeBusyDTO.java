@@ -0,0 +1,7 @@
+package com.example.event_scheduling.dto;
+
+import java.util.List;
+
+public record FreeBusyDTO(List<IntervalDTO> busy,
+                          List<IntervalDTO> free) {
+}
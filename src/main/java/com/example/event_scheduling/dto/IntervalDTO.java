@@ -0,0 +1,7 @@
+package com.example.event_scheduling.dto;
+
+import java.time.Instant;
+
+public record IntervalDTO(Instant startTime,
+                          Instant endTime) {
+}
@@ -0,0 +1,10 @@
+package com.example.event_scheduling.dto;
+
+import java.time.Instant;
+
+public record OccurrenceDTO(Long eventId,
+                            Instant originalStart,
+                            Instant startTime,
+                            Instant endTime,
+                            boolean overridden) {
+}
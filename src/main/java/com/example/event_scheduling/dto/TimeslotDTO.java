@@ -1,20 +1,12 @@
 package com.example.event_scheduling.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.List;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class TimeslotDTO {
-    private Long id;
-    private LocalDateTime startTime;
-    private LocalDateTime endTime;
-    private boolean finalized;
-    private Long creatorId;
-    private List<VoteDTO> votes;
+public record TimeslotDTO(Long id,
+                          Instant startTime,
+                          Instant endTime,
+                          boolean finalized,
+                          Long creatorId,
+                          List<VoteDTO> votes) {
 }
@@ -0,0 +1,6 @@
+package com.example.event_scheduling.dto;
+
+public record TokenResponse(String accessToken,
+                            String refreshToken,
+                            long expiresIn) {
+}
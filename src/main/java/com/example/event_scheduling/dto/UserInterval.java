@@ -0,0 +1,9 @@
+package com.example.event_scheduling.dto;
+
+import java.time.Instant;
+
+public record UserInterval(Long userId,
+                           Long eventId,
+                           Instant startTime,
+                           Instant endTime) {
+}
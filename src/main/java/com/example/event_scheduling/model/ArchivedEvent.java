@@ -0,0 +1,54 @@
+package com.example.event_scheduling.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flattened copy of a finalized event that has been moved out of the hot tables.
+ * Keeps the original ids so archived events still line up with the DTOs clients saw.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "archived_events")
+public class ArchivedEvent {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long creatorId;
+
+    private String title;
+    private String description;
+    private Integer requiredVotes;
+    private String recurrenceRule;
+    private String recurrenceZone;
+    private LocalDateTime archivedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "archived_event_users",
+            joinColumns = @JoinColumn(name = "event_id"),
+            indexes = @Index(name = "idx_archived_event_users_user", columnList = "user_id"))
+    @Column(name = "user_id", nullable = false)
+    private List<Long> participantIds = new ArrayList<Long>();
+
+    @ElementCollection
+    @CollectionTable(name = "archived_timeslots", joinColumns = @JoinColumn(name = "event_id"))
+    private List<ArchivedTimeslot> timeslots = new ArrayList<ArchivedTimeslot>();
+
+    public ArchivedEvent() {}
+
+    @Override
+    public String toString() {
+        return "ArchivedEvent{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", archivedAt=" + archivedAt +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.event_scheduling.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Lob;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Embeddable
+public class ArchivedTimeslot {
+    @Column(nullable = false)
+    private Long timeslotId;
+
+    @Column(nullable = false)
+    private Long creatorId;
+
+    private Instant startTime;
+    private Instant endTime;
+    private boolean finalized;
+
+    // votes packed as "voteId:userId" pairs separated by commas
+    @Lob
+    private String votes;
+
+    public ArchivedTimeslot() {}
+}
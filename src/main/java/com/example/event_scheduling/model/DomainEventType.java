@@ -0,0 +1,12 @@
+package com.example.event_scheduling.model;
+
+public enum DomainEventType {
+    EVENT_CREATED,
+    USER_INVITED,
+    USER_DECLINED,
+    TIMESLOT_PROPOSED,
+    VOTE_CAST,
+    VOTE_REMOVED,
+    EVENT_FINALIZED,
+    EVENT_DELETED
+}
@@ -3,14 +3,22 @@ package com.example.event_scheduling.model;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_deleted_at", columnList = "deleted_at")
+})
+// deleted events stay as tombstones until EventPurgeService removes them, reads never see them
+@SQLRestriction("deleted_at is null")
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +33,10 @@ public class Event {
     private String description;
     private boolean finalized;
     private Integer requiredVotes;
+    private String recurrenceRule;
+    // IANA zone the series repeats in, null is UTC
+    private String recurrenceZone;
+    private Instant deletedAt;
 
     @ManyToMany(mappedBy = "events")
     @JsonIgnore
@@ -0,0 +1,39 @@
+package com.example.event_scheduling.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Change to a single occurrence of a recurring event, keyed by the start the rule gives it.
+ * Only changed occurrences have a row, everything else is expanded from the rule.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "occurrence_overrides",
+        uniqueConstraints = @UniqueConstraint(name = "uk_occurrence_overrides_event_start", columnNames = {"event_id", "original_start"}))
+public class OccurrenceOverride {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "original_start", nullable = false)
+    private Instant originalStart;
+
+    private Instant startTime;
+    private Instant endTime;
+    private boolean cancelled;
+
+    public OccurrenceOverride() {}
+
+    public OccurrenceOverride(Long eventId, Instant originalStart) {
+        this.eventId = eventId;
+        this.originalStart = originalStart;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.event_scheduling.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain event written in the same transaction as the change it describes. Rows are deleted
+ * by the outbox relay once a sink has accepted them.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private DomainEventType type;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(Long eventId, DomainEventType type, String payload, LocalDateTime createdAt) {
+        this.eventId = eventId;
+        this.type = type;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
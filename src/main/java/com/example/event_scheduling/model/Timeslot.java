@@ -1,15 +1,21 @@
 package com.example.event_scheduling.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
-@Data
+@Getter
+@Setter
 @Entity
-@Table(name = "timeslots")
+@Table(name = "timeslots", indexes = {
+        @Index(name = "idx_timeslots_event_range", columnList = "event_id, start_time, end_time"),
+        @Index(name = "idx_timeslots_creator_event", columnList = "creator_id, event_id"),
+        @Index(name = "idx_timeslots_finalized_end", columnList = "finalized, end_time")
+})
 public class Timeslot {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,8 +29,8 @@ public class Timeslot {
     @JoinColumn(name = "creator_id", nullable = false)
     private User creator;
 
-    private LocalDateTime startTime;
-    private LocalDateTime endTime;
+    private Instant startTime;
+    private Instant endTime;
 
     @OneToMany(mappedBy = "timeslot", cascade = CascadeType.ALL)
     private List<Vote> votes = new ArrayList<Vote>();
@@ -32,7 +38,7 @@ public class Timeslot {
     private boolean finalized = false;
 
     public Timeslot() {}
-    public Timeslot(Event e, User c, LocalDateTime start, LocalDateTime end) {
+    public Timeslot(Event e, User c, Instant start, Instant end) {
         this.event = e;
         this.creator = c;
         this.startTime = start;
@@ -3,14 +3,18 @@ package com.example.event_scheduling.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
-@Data
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_email", columnList = "email", unique = true)
+})
+@Getter
+@Setter
 public class User {
 
     @Id
@@ -24,11 +28,17 @@ public class User {
     @JsonIgnore
     private String password;
 
+    // SHA-256 of the calendar feed token, the token itself is only shown once
+    @JsonIgnore
+    @Column(length = 64)
+    private String calendarTokenHash;
+
     @ManyToMany
     @JoinTable(
             name = "user_event",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "event_id")
+            inverseJoinColumns = @JoinColumn(name = "event_id"),
+            indexes = @Index(name = "idx_user_event_event", columnList = "event_id")
     )
     @JsonManagedReference
     private List<Event> events = new ArrayList<Event>();
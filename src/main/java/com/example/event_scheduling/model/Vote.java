@@ -1,11 +1,16 @@
 package com.example.event_scheduling.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
-@Data
+@Getter
+@Setter
 @Entity
-@Table(name = "votes")
+@Table(name = "votes", indexes = {
+        @Index(name = "idx_votes_timeslot", columnList = "timeslot_id"),
+        @Index(name = "idx_votes_user_timeslot", columnList = "user_id, timeslot_id")
+})
 public class Vote {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,19 @@
+package com.example.event_scheduling.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Default transport, writes each digest to the application log. */
+@Component
+@ConditionalOnProperty(name = "notifications.transport", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationTransport implements NotificationTransport {
+
+    private final Logger logger = LoggerFactory.getLogger(LoggingNotificationTransport.class);
+
+    @Override
+    public void send(String recipient, String subject, String body) {
+        logger.info("Notification to {}: {}\n{}", recipient, subject, body);
+    }
+}
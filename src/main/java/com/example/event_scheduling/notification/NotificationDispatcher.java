@@ -0,0 +1,191 @@
+package com.example.event_scheduling.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects notifications per recipient and sends them as one digest once the first message
+ * has waited {@code notifications.window}, or as soon as a digest reaches
+ * {@code notifications.max-batch} messages. Sends run on a bounded worker pool, so a slow
+ * transport never blocks request threads. Delivery is best effort: digests that fail to send
+ * are logged and counted, not retried.
+ *
+ * <p>Metrics: {@code notifications.pending}, {@code notifications.worker.queue},
+ * {@code notifications.digest.size}, {@code notifications.send}, {@code notifications.failures}
+ * and {@code notifications.dropped}.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private final NotificationTransport transport;
+    private final ThreadPoolExecutor workers;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final int maxPending;
+
+    // recipients in the order their oldest pending message arrived, so due digests are at the head
+    private final LinkedHashMap<String, Digest> pending = new LinkedHashMap<String, Digest>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final DistributionSummary digestSize;
+    private final Timer sendTimer;
+    private final Counter failures;
+    private final Counter dropped;
+    private final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static class Digest {
+        final long firstQueuedNanos;
+        final List<String> messages = new ArrayList<String>();
+
+        Digest(long firstQueuedNanos) {
+            this.firstQueuedNanos = firstQueuedNanos;
+        }
+    }
+
+    @Autowired
+    public NotificationDispatcher(NotificationTransport transport,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notifications.window:PT30S}") Duration window,
+                                  @Value("${notifications.max-batch:50}") int maxBatch,
+                                  @Value("${notifications.max-pending:10000}") int maxPending,
+                                  @Value("${notifications.workers:2}") int workers,
+                                  @Value("${notifications.queue-capacity:100}") int queueCapacity) {
+        this.transport = transport;
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.maxPending = maxPending;
+        this.workers = newWorkerPool(workers, queueCapacity);
+
+        meterRegistry.gauge("notifications.pending", pendingCount);
+        meterRegistry.gauge("notifications.worker.queue", this.workers, w -> w.getQueue().size());
+        this.digestSize = meterRegistry.summary("notifications.digest.size");
+        this.sendTimer = meterRegistry.timer("notifications.send");
+        this.failures = meterRegistry.counter("notifications.failures");
+        this.dropped = meterRegistry.counter("notifications.dropped");
+    }
+
+    /** Queues {@code message} for {@code recipient}. Call after the change it describes has committed. */
+    public void enqueue(String recipient, String message) {
+        Digest full = null;
+        synchronized (pending) {
+            if (pendingCount.get() >= maxPending) {
+                dropped.increment();
+                logger.warn("Notification queue full, dropping message for {}", recipient);
+                return;
+            }
+
+            Digest digest = pending.computeIfAbsent(recipient, r -> new Digest(System.nanoTime()));
+            digest.messages.add(message);
+            pendingCount.incrementAndGet();
+
+            if (digest.messages.size() >= maxBatch) {
+                full = pending.remove(recipient);
+            }
+        }
+
+        if (full != null) submitAll(Map.of(recipient, full));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.flush-interval:PT1S}")
+    public void flush() {
+        long cutoff = System.nanoTime() - windowNanos;
+        Map<String, Digest> due = new LinkedHashMap<String, Digest>();
+
+        synchronized (pending) {
+            for (Iterator<Map.Entry<String, Digest>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, Digest> entry = it.next();
+                if (entry.getValue().firstQueuedNanos - cutoff > 0) break;
+                due.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+        }
+
+        if (!due.isEmpty()) submitAll(due);
+    }
+
+    private void submitAll(Map<String, Digest> digests) {
+        Map<String, Digest> deferred = new LinkedHashMap<String, Digest>();
+        for (Map.Entry<String, Digest> entry : digests.entrySet()) {
+            if (!deferred.isEmpty()) {
+                deferred.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            try {
+                workers.execute(() -> send(entry.getKey(), entry.getValue()));
+            } catch (RejectedExecutionException e) {
+                deferred.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (deferred.isEmpty()) return;
+        logger.warn("Notification workers busy, deferring {} digests", deferred.size());
+
+        // put them back at the head so the next flush retries them first
+        synchronized (pending) {
+            for (Map.Entry<String, Digest> entry : deferred.entrySet()) {
+                Digest newer = pending.remove(entry.getKey());
+                if (newer != null) entry.getValue().messages.addAll(newer.messages);
+            }
+            deferred.putAll(pending);
+            pending.clear();
+            pending.putAll(deferred);
+        }
+    }
+
+    private void send(String recipient, Digest digest) {
+        int size = digest.messages.size();
+        pendingCount.addAndGet(-size);
+        digestSize.record(size);
+
+        String subject = size == 1 ? digest.messages.get(0) : size + " updates to your events";
+        String body = String.join("\n", digest.messages);
+
+        long start = System.nanoTime();
+        try {
+            transport.send(recipient, subject, body);
+        } catch (Exception e) {
+            failures.increment();
+            logger.error("Failed to send {} notifications to {}: {}", size, recipient, e.toString());
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private static ThreadPoolExecutor newWorkerPool(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "notification-sender-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
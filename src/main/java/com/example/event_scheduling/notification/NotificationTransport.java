@@ -0,0 +1,10 @@
+package com.example.event_scheduling.notification;
+
+/**
+ * Sends one digest to one recipient, picked with {@code notifications.transport}
+ * ({@code log} or {@code smtp}). Called from the dispatcher's worker threads.
+ */
+public interface NotificationTransport {
+
+    void send(String recipient, String subject, String body) throws Exception;
+}
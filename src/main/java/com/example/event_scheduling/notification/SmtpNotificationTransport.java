@@ -0,0 +1,34 @@
+package com.example.event_scheduling.notification;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/** Sends digests as plain-text mail through the {@code spring.mail.*} SMTP server. */
+@Component
+@ConditionalOnProperty(name = "notifications.transport", havingValue = "smtp")
+public class SmtpNotificationTransport implements NotificationTransport {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    @Autowired
+    public SmtpNotificationTransport(JavaMailSender mailSender,
+                                     @Value("${notifications.from:no-reply@event-scheduling.local}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public void send(String recipient, String subject, String body) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(recipient);
+        message.setSubject(subject);
+        message.setText(body);
+        mailSender.send(message);
+    }
+}
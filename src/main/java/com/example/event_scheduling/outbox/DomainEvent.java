@@ -0,0 +1,21 @@
+package com.example.event_scheduling.outbox;
+
+import com.example.event_scheduling.model.OutboxEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * What sinks receive for each outbox row. {@code id} increases with every row written, so
+ * consumers can use it to drop duplicates after a redelivery.
+ */
+public record DomainEvent(long id,
+                          long eventId,
+                          String type,
+                          LocalDateTime createdAt,
+                          @JsonRawValue String payload) {
+
+    public static DomainEvent of(OutboxEvent row) {
+        return new DomainEvent(row.getId(), row.getEventId(), row.getType().name(), row.getCreatedAt(), row.getPayload());
+    }
+}
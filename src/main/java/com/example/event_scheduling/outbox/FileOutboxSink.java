@@ -0,0 +1,49 @@
+package com.example.event_scheduling.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/** Appends one JSON line per event and syncs the file before acknowledging the batch. */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final FileOutputStream out;
+
+    @Autowired
+    public FileOutboxSink(ObjectMapper objectMapper,
+                          @Value("${outbox.file.path:./logs/outbox.jsonl}") String path) throws IOException {
+        this.objectMapper = objectMapper;
+        Path file = Path.of(path).toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        this.out = new FileOutputStream(file.toFile(), true);
+    }
+
+    @Override
+    public synchronized void deliver(List<DomainEvent> events) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(events.size() * 256);
+        for (DomainEvent event : events) {
+            objectMapper.writeValue(buffer, event);
+            buffer.write('\n');
+        }
+        buffer.writeTo(out);
+        out.getFD().sync();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.event_scheduling.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/** Keeps relayed events in a queue, meant for tests and local debugging. */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final LinkedBlockingQueue<DomainEvent> events = new LinkedBlockingQueue<DomainEvent>();
+
+    @Override
+    public void deliver(List<DomainEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public DomainEvent poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return events.poll(timeout, unit);
+    }
+
+    public int size() {
+        return events.size();
+    }
+}
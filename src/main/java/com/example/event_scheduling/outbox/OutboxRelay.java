@@ -0,0 +1,106 @@
+package com.example.event_scheduling.outbox;
+
+import com.example.event_scheduling.model.OutboxEvent;
+import com.example.event_scheduling.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the outbox table oldest row first and hands each batch to the configured
+ * {@link OutboxSink}. Rows are deleted only after the sink accepts the batch, so delivery is
+ * at least once, and a failed batch blocks everything behind it, so events for one event id
+ * are never delivered out of order. The relay is off unless {@code outbox.relay.enabled} is set,
+ * and must be set on one node only: two relays would deliver the same rows twice and could
+ * interleave batches out of order.
+ *
+ * <p>Metrics: {@code outbox.relay.delivered} (throughput), {@code outbox.relay.lag} (time from
+ * commit to delivery), {@code outbox.relay.batch} (sink latency) and {@code outbox.relay.failures}.
+ */
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final Counter delivered;
+    private final Counter failures;
+    private final Timer lag;
+    private final Timer batchTimer;
+    private final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Value("${outbox.relay.enabled:false}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${outbox.relay.max-batches-per-run:50}")
+    private int maxBatchesPerRun = 50;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.delivered = meterRegistry.counter("outbox.relay.delivered");
+        this.failures = meterRegistry.counter("outbox.relay.failures");
+        this.lag = meterRegistry.timer("outbox.relay.lag");
+        this.batchTimer = meterRegistry.timer("outbox.relay.batch");
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT1S}")
+    public void relay() {
+        if (!enabled) return;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (relayBatch() < batchSize) break;
+        }
+    }
+
+    /** Returns how many rows were delivered, or -1 if the sink rejected the batch. */
+    int relayBatch() {
+        List<OutboxEvent> rows = outboxEventRepository.findByOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) return 0;
+
+        List<DomainEvent> events = new ArrayList<DomainEvent>(rows.size());
+        List<Long> ids = new ArrayList<Long>(rows.size());
+        for (OutboxEvent row : rows) {
+            events.add(DomainEvent.of(row));
+            ids.add(row.getId());
+        }
+
+        long start = System.nanoTime();
+        try {
+            sink.deliver(events);
+        } catch (Exception e) {
+            failures.increment();
+            logger.warn("Outbox sink rejected {} events starting at {}: {}", rows.size(), ids.get(0), e.toString());
+            return -1;
+        }
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+
+        outboxEventRepository.deleteAllByIdInBatch(ids);
+
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        for (OutboxEvent row : rows) {
+            lag.record(Duration.between(row.getCreatedAt(), now));
+        }
+        delivered.increment(rows.size());
+        logger.debug("Relayed {} outbox events up to {}", rows.size(), ids.get(ids.size() - 1));
+        return rows.size();
+    }
+}
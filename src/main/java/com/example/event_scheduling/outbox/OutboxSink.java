@@ -0,0 +1,13 @@
+package com.example.event_scheduling.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for relayed domain events, picked with {@code outbox.sink}. A batch counts as
+ * delivered only if {@link #deliver} returns normally; on an exception the relay sends the
+ * whole batch again later, so sinks must tolerate duplicates.
+ */
+public interface OutboxSink {
+
+    void deliver(List<DomainEvent> events) throws Exception;
+}
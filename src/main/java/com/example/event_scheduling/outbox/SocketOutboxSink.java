@@ -0,0 +1,77 @@
+package com.example.event_scheduling.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+
+/**
+ * Streams newline-delimited JSON to a TCP listener at {@code outbox.socket.host}:{@code port}.
+ * The connection is opened lazily and dropped on any error so the next batch reconnects.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "socket")
+public class SocketOutboxSink implements OutboxSink {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2000;
+
+    private final ObjectMapper objectMapper;
+    private final InetSocketAddress address;
+    private final Logger logger = LoggerFactory.getLogger(SocketOutboxSink.class);
+    private Socket socket;
+    private OutputStream out;
+
+    @Autowired
+    public SocketOutboxSink(ObjectMapper objectMapper,
+                            @Value("${outbox.socket.host:127.0.0.1}") String host,
+                            @Value("${outbox.socket.port:9800}") int port) {
+        this.objectMapper = objectMapper;
+        this.address = new InetSocketAddress(host, port);
+    }
+
+    @Override
+    public synchronized void deliver(List<DomainEvent> events) throws IOException {
+        try {
+            if (socket == null) {
+                socket = new Socket();
+                socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+                out = new BufferedOutputStream(socket.getOutputStream());
+                logger.info("Connected outbox sink to {}", address);
+            }
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(events.size() * 256);
+            for (DomainEvent event : events) {
+                objectMapper.writeValue(buffer, event);
+                buffer.write('\n');
+            }
+            buffer.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (socket == null) return;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            logger.debug("Error closing outbox socket: {}", e.toString());
+        }
+        socket = null;
+        out = null;
+    }
+}
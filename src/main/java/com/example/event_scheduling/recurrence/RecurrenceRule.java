@@ -0,0 +1,228 @@
+package com.example.event_scheduling.recurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Subset of RFC 5545 RRULE: {@code FREQ} (DAILY, WEEKLY, MONTHLY, YEARLY), {@code INTERVAL},
+ * {@code COUNT} or {@code UNTIL}, and {@code BYDAY} without ordinals for weekly rules. Weeks
+ * start on Monday. Monthly and yearly rules skip months that do not have the start's day,
+ * as the RFC does.
+ *
+ * <p>Occurrences are never materialized. {@link #between} jumps straight to the period
+ * containing the window start, so expanding one week ten years into a series costs the same
+ * as expanding the first week. Only monthly and yearly rules with a COUNT walk from the start,
+ * and they stop after COUNT occurrences.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDateTime until;
+    private final List<DayOfWeek> byDay;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDateTime until, List<DayOfWeek> byDay) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+    }
+
+    /** @throws IllegalArgumentException if the rule is malformed or uses unsupported parts */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) throw new IllegalArgumentException("Empty recurrence rule");
+        String text = rule.trim();
+        if (text.regionMatches(true, 0, "RRULE:", 0, 6)) text = text.substring(6);
+
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDateTime until = null;
+        TreeSet<DayOfWeek> byDay = new TreeSet<DayOfWeek>();
+
+        for (String part : text.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) throw new IllegalArgumentException("Malformed rule part: " + part);
+            String key = part.substring(0, eq).trim().toUpperCase();
+            String value = part.substring(eq + 1).trim().toUpperCase();
+
+            try {
+                switch (key) {
+                    case "FREQ" -> frequency = frequency(value);
+                    case "INTERVAL" -> interval = positive(key, value);
+                    case "COUNT" -> count = positive(key, value);
+                    case "UNTIL" -> until = value.length() == 8
+                            ? LocalDate.parse(value, UNTIL_DATE).atTime(23, 59, 59)
+                            : LocalDateTime.parse(value, UNTIL_DATE_TIME);
+                    case "BYDAY" -> {
+                        for (String code : value.split(",")) byDay.add(day(code.trim()));
+                    }
+                    case "WKST" -> {
+                        if (!value.equals("MO")) throw new IllegalArgumentException("Only WKST=MO is supported");
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported rule part: " + key);
+                }
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid UNTIL: " + value);
+            }
+        }
+
+        if (frequency == null) throw new IllegalArgumentException("FREQ is required");
+        if (count != null && until != null) throw new IllegalArgumentException("COUNT and UNTIL are mutually exclusive");
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly rules");
+        }
+        return new RecurrenceRule(frequency, interval, count, until, List.copyOf(byDay));
+    }
+
+    /**
+     * Occurrence starts of the series beginning at {@code dtStart} that fall in
+     * [{@code from}, {@code to}), at most {@code limit} of them, in order.
+     */
+    public List<LocalDateTime> between(LocalDateTime dtStart, LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> out = new ArrayList<LocalDateTime>();
+        if (!from.isBefore(to) || limit <= 0) return out;
+
+        long period = firstPeriod(dtStart, from);
+        long ordinal = count == null ? 0 : occurrencesBefore(dtStart, period);
+
+        for (; ; period++) {
+            LocalDateTime periodStart = periodStart(dtStart, period);
+            if (!periodStart.isBefore(to) || (until != null && periodStart.isAfter(until))) return out;
+
+            for (LocalDateTime candidate : candidates(dtStart, periodStart)) {
+                if (candidate.isBefore(dtStart)) continue;
+                if (until != null && candidate.isAfter(until)) return out;
+                if (count != null && ordinal >= count) return out;
+                ordinal++;
+
+                if (!candidate.isBefore(to)) return out;
+                if (!candidate.isBefore(from)) {
+                    out.add(candidate);
+                    if (out.size() >= limit) return out;
+                }
+            }
+        }
+    }
+
+    /** Whether {@code start} is one of the series' occurrence starts. */
+    public boolean isOccurrence(LocalDateTime dtStart, LocalDateTime start) {
+        return !between(dtStart, start, start.plusNanos(1), 1).isEmpty();
+    }
+
+    // the first period that can hold an occurrence at or after from, one early to be safe
+    private long firstPeriod(LocalDateTime dtStart, LocalDateTime from) {
+        if (!from.isAfter(dtStart)) return 0;
+        if (count != null && (frequency == Frequency.MONTHLY || frequency == Frequency.YEARLY)) return 0;
+
+        long units = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(dtStart, from);
+            case WEEKLY -> ChronoUnit.WEEKS.between(weekStart(dtStart), from);
+            case MONTHLY -> ChronoUnit.MONTHS.between(dtStart, from);
+            case YEARLY -> ChronoUnit.YEARS.between(dtStart, from);
+        };
+        return Math.max(0, units / interval - 1);
+    }
+
+    // only called for rules where every period before `period` is complete and valid
+    private long occurrencesBefore(LocalDateTime dtStart, long period) {
+        if (period == 0) return 0;
+        if (frequency != Frequency.WEEKLY || byDay.isEmpty()) return period;
+
+        long firstWeek = 0;
+        for (LocalDateTime candidate : candidates(dtStart, weekStart(dtStart))) {
+            if (!candidate.isBefore(dtStart)) firstWeek++;
+        }
+        return firstWeek + (period - 1) * byDay.size();
+    }
+
+    private LocalDateTime periodStart(LocalDateTime dtStart, long period) {
+        long step = period * interval;
+        return switch (frequency) {
+            case DAILY -> dtStart.plusDays(step);
+            case WEEKLY -> byDay.isEmpty() ? dtStart.plusWeeks(step) : weekStart(dtStart).plusWeeks(step);
+            case MONTHLY -> dtStart.plusMonths(step);
+            case YEARLY -> dtStart.plusYears(step);
+        };
+    }
+
+    private List<LocalDateTime> candidates(LocalDateTime dtStart, LocalDateTime periodStart) {
+        switch (frequency) {
+            case WEEKLY:
+                if (byDay.isEmpty()) return List.of(periodStart);
+                List<LocalDateTime> days = new ArrayList<LocalDateTime>(byDay.size());
+                for (DayOfWeek day : byDay) {
+                    days.add(periodStart.plusDays(day.getValue() - 1));
+                }
+                return days;
+            case MONTHLY:
+            case YEARLY:
+                // plusMonths/plusYears clamp to the month's last day, the RFC skips those instead
+                return periodStart.getDayOfMonth() == dtStart.getDayOfMonth() ? List.of(periodStart) : List.of();
+            default:
+                return List.of(periodStart);
+        }
+    }
+
+    private static LocalDateTime weekStart(LocalDateTime dateTime) {
+        return dateTime.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static int positive(String key, String value) {
+        int n;
+        try {
+            n = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number");
+        }
+        if (n < 1) throw new IllegalArgumentException(key + " must be positive");
+        return n;
+    }
+
+    private static Frequency frequency(String value) {
+        for (Frequency f : Frequency.values()) {
+            if (f.name().equals(value)) return f;
+        }
+        throw new IllegalArgumentException("Unsupported FREQ: " + value);
+    }
+
+    private static DayOfWeek day(String code) {
+        for (int i = 0; i < DAY_CODES.length; i++) {
+            if (DAY_CODES[i].equals(code)) return DayOfWeek.of(i + 1);
+        }
+        throw new IllegalArgumentException("Unsupported BYDAY value: " + code);
+    }
+
+    /** Canonical RRULE text, which is what gets stored. */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) sb.append(";INTERVAL=").append(interval);
+        if (count != null) sb.append(";COUNT=").append(count);
+        if (until != null) sb.append(";UNTIL=").append(UNTIL_DATE_TIME.format(until));
+        if (!byDay.isEmpty()) {
+            sb.append(";BYDAY=");
+            for (int i = 0; i < byDay.size(); i++) {
+                if (i > 0) sb.append(',');
+                sb.append(DAY_CODES[byDay.get(i).getValue() - 1]);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.event_scheduling.repository;
+
+import com.example.event_scheduling.dto.CalendarEntry;
+import com.example.event_scheduling.model.ArchivedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Long> {
+
+    @Query("select distinct a from ArchivedEvent a join a.participantIds p where p = :userId")
+    List<ArchivedEvent> findByParticipantId(Long userId);
+
+    @Query("select new com.example.event_scheduling.dto.CalendarEntry(a.id, a.title, a.description, t.startTime, t.endTime, a.recurrenceRule, a.recurrenceZone) " +
+           "from ArchivedEvent a join a.participantIds p join a.timeslots t where p = :userId and t.finalized = true")
+    List<CalendarEntry> findFinalizedForParticipant(Long userId);
+}
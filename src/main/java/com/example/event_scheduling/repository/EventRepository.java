@@ -1,7 +1,51 @@
 package com.example.event_scheduling.repository;
 
 import com.example.event_scheduling.model.Event;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
+
+    // a recurring series keeps occurring after its finalized slot, so it is never archivable
+    @Query("select distinct e from Event e join e.timeslots t " +
+            "where e.finalized = true and e.recurrenceRule is null and t.finalized = true and t.endTime < :cutoff order by e.id")
+    List<Event> findArchivable(Instant cutoff, Pageable page);
+
+    @Query("select u.id from Event e join e.users u where e.id = :eventId")
+    List<Long> findMemberIds(Long eventId);
+
+    @Query("select count(distinct u.id) from Event e join e.users u where e.creator.id = :creatorId and u.id in :userIds")
+    long countMembersOfEventsCreatedBy(Long creatorId, Collection<Long> userIds);
+
+    // user_event is owned by the user side, this drops every membership without loading a user
+    @Modifying
+    @Query(value = "delete from user_event where event_id = :eventId", nativeQuery = true)
+    int deleteMembers(Long eventId);
+
+    // tombstoned events are hidden from entity queries by @SQLRestriction, so the purge
+    // reads and deletes them with plain SQL
+
+    @Query(value = "select id from events where deleted_at is not null order by deleted_at, id limit :limit", nativeQuery = true)
+    List<Long> findTombstonedIds(int limit);
+
+    @Query(value = "select creator_id from events where id = :eventId and deleted_at is not null", nativeQuery = true)
+    Long findTombstoneCreatorId(Long eventId);
+
+    @Query(value = "select count(*) from user_event where event_id = :eventId", nativeQuery = true)
+    long countMembers(Long eventId);
+
+    @Modifying
+    @Query(value = "delete from user_event where event_id = :eventId and user_id in " +
+                   "(select user_id from user_event where event_id = :eventId order by user_id limit :limit)", nativeQuery = true)
+    int deleteMembersBatch(Long eventId, int limit);
+
+    @Modifying
+    @Query(value = "delete from events where id = :eventId and deleted_at is not null", nativeQuery = true)
+    int deleteTombstone(Long eventId);
 }
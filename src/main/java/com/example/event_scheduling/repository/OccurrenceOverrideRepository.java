@@ -0,0 +1,25 @@
+package com.example.event_scheduling.repository;
+
+import com.example.event_scheduling.model.OccurrenceOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OccurrenceOverrideRepository extends JpaRepository<OccurrenceOverride, Long> {
+
+    OccurrenceOverride findByEventIdAndOriginalStart(Long eventId, Instant originalStart);
+
+    // overrides whose original slot or moved slot touches the window
+    @Query("select o from OccurrenceOverride o where o.eventId = :eventId and " +
+           "((o.originalStart >= :from and o.originalStart < :to) or (o.startTime < :to and o.endTime > :from))")
+    List<OccurrenceOverride> findInWindow(Long eventId, Instant from, Instant to);
+
+    @Modifying
+    @Query("delete from OccurrenceOverride o where o.eventId = :eventId")
+    void deleteByEventId(Long eventId);
+}
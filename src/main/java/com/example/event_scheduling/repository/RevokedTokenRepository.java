@@ -0,0 +1,28 @@
+package com.example.event_scheduling.repository;
+
+import com.example.event_scheduling.model.RevokedToken;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // a plain insert, save() would merge into a row another node already wrote
+    @Transactional
+    @Modifying
+    @Query(value = "insert into revoked_tokens (token_id, expires_at) values (:tokenId, :expiresAt)", nativeQuery = true)
+    void insert(String tokenId, Instant expiresAt);
+
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
@@ -1,20 +1,54 @@
 package com.example.event_scheduling.repository;
 
+import com.example.event_scheduling.dto.CalendarEntry;
+import com.example.event_scheduling.dto.UserInterval;
 import com.example.event_scheduling.model.Event;
 import com.example.event_scheduling.model.Timeslot;
 import com.example.event_scheduling.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TimeslotRepository  extends JpaRepository<Timeslot, Long> {
 
     List<Timeslot> findByCreatorAndEvent(User creator, Event event);
 
-    Timeslot findByEventAndStartTimeAndEndTime(Event event, LocalDateTime startTime, LocalDateTime endTime);
+    Timeslot findByEventAndStartTimeAndEndTime(Event event, Instant startTime, Instant endTime);
 
-    void deleteByCreatorAndEvent(User creator, Event event);
+    // the finalized timeslot stays even if the user proposed it, the event is scheduled on it
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Timeslot t where t.event.id = :eventId and t.creator.id = :userId and t.finalized = false")
+    int deleteProposedBy(Long eventId, Long userId);
+
+    // plain SQL, a derived query joins events and would not count a tombstoned event's timeslots
+    @Query(value = "select count(*) from timeslots where event_id = :eventId", nativeQuery = true)
+    long countByEventId(Long eventId);
+
+    // one purge batch of a tombstoned event, its votes must already be gone
+    @Modifying
+    @Query(value = "delete from timeslots where id in " +
+                   "(select id from timeslots where event_id = :eventId order by id limit :limit)", nativeQuery = true)
+    int deleteBatchForEvent(Long eventId, int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select t from Timeslot t where t.event.id = :eventId order by t.id")
+    Stream<Timeslot> streamByEventId(Long eventId);
+
+    @Query("select new com.example.event_scheduling.dto.CalendarEntry(e.id, e.title, e.description, t.startTime, t.endTime, e.recurrenceRule, e.recurrenceZone) " +
+           "from Timeslot t join t.event e join e.users u where u.id = :userId and t.finalized = true order by e.id")
+    List<CalendarEntry> findFinalizedForUser(Long userId);
+
+    @Query("select new com.example.event_scheduling.dto.UserInterval(u.id, e.id, t.startTime, t.endTime) " +
+           "from Timeslot t join t.event e join e.users u where u.id in :userIds and t.finalized = true")
+    List<UserInterval> findFinalizedForUsers(Collection<Long> userIds);
 }
@@ -2,6 +2,8 @@ package com.example.event_scheduling.repository;
 
 import com.example.event_scheduling.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +11,9 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // user_event is a join table without an entity of its own
+    @Modifying(clearAutomatically = true)
+    @Query(value = "delete from user_event where user_id = :userId and event_id = :eventId", nativeQuery = true)
+    int removeFromEvent(Long userId, Long eventId);
 }
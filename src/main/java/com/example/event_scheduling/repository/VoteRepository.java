@@ -1,12 +1,19 @@
 package com.example.event_scheduling.repository;
 
+import com.example.event_scheduling.dto.VoteDTO;
 import com.example.event_scheduling.model.Timeslot;
 import com.example.event_scheduling.model.User;
 import com.example.event_scheduling.model.Vote;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface VoteRepository extends JpaRepository<Vote, Long> {
@@ -17,9 +24,36 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
 
     Vote findByUserAndTimeslot(User user, Timeslot timeslot);
 
-    void deleteByUserAndTimeslot(User user, Timeslot timeslot);
+    // votes the user cast in the event plus all votes on timeslots the user proposed, except
+    // the others' votes on a finalized one, which outlives the user's decline
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Vote v where v.timeslot.id in " +
+           "(select t.id from Timeslot t where t.event.id = :eventId and " +
+           "((t.creator.id = :userId and t.finalized = false) or v.user.id = :userId))")
+    int deleteForDeclinedUser(Long eventId, Long userId);
 
     void deleteByTimeslot(Timeslot timeslot);
 
     void deleteByUser(User user);
+
+    @Query("select count(v) from Vote v where v.timeslot.event.id = :eventId")
+    long countByEventId(Long eventId);
+
+    long countByTimeslotId(Long timeslotId);
+
+    // one purge batch of a tombstoned event, see EventPurgeService
+    @Modifying
+    @Query(value = "delete from votes where id in (select v.id from votes v join timeslots t on t.id = v.timeslot_id " +
+                   "where t.event_id = :eventId order by v.id limit :limit)", nativeQuery = true)
+    int deleteBatchForEvent(Long eventId, int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.event_scheduling.dto.VoteDTO(v.id, v.user.id, v.timeslot.id) from Vote v " +
+            "where v.timeslot.event.id = :eventId order by v.timeslot.id, v.id")
+    Stream<VoteDTO> streamByEventId(Long eventId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.event_scheduling.dto.VoteDTO(v.id, v.user.id, v.timeslot.id) from Vote v " +
+            "where v.timeslot.id = :timeslotId order by v.id")
+    Stream<VoteDTO> streamByTimeslotId(Long timeslotId);
 }
@@ -0,0 +1,15 @@
+package com.example.event_scheduling.security;
+
+import java.security.Principal;
+
+/**
+ * Principal built from access token claims by {@link JwtFilter}, so authenticated
+ * requests never need to load the user row.
+ */
+public record AuthenticatedUser(Long id, String email) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
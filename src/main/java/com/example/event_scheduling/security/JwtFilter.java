@@ -1,7 +1,6 @@
 package com.example.event_scheduling.security;
 
-import com.example.event_scheduling.model.User;
-import com.example.event_scheduling.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,13 +21,13 @@ import java.util.List;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final TokenRevocationList revocationList;
     private final Logger logger = LoggerFactory.getLogger(JwtFilter.class);
 
     @Autowired
-    public JwtFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtFilter(JwtUtil jwtUtil, TokenRevocationList revocationList) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -41,18 +40,18 @@ public class JwtFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             logger.info("Checking for auth header {}", authHeader);
             String token = authHeader.substring(7); // "Bearer " is first 6 indices of string
-
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractEmail(token);
-                User user = userRepository.findByEmail(email).orElse(null);
-
-                // if there is a user, authenticate with email
-                if (user != null) {
-                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                            user.getEmail(), null, List.of()
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                }
+            Claims claims = jwtUtil.parseClaims(token);
+
+            // the token carries everything needed, so no user lookup per request;
+            // refresh tokens are only accepted by /auth/refresh
+            if (claims != null
+                    && JwtUtil.ACCESS_TYPE.equals(claims.get(JwtUtil.TYPE_CLAIM, String.class))
+                    && !revocationList.isRevoked(claims.getId())) {
+                AuthenticatedUser user = new AuthenticatedUser(claims.get(JwtUtil.USER_ID_CLAIM, Long.class), claims.getSubject());
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        user, null, List.of()
+                );
+                SecurityContextHolder.getContext().setAuthentication(auth);
             }
         }
 
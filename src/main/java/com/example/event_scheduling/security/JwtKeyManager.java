@@ -0,0 +1,272 @@
+package com.example.event_scheduling.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * HS256 signing keys, identified by {@code kid}. Keys live in a PKCS12 keystore shared by all
+ * replicas ({@code jwt.keystore.path}); every key still in the store verifies, and each has a
+ * prebuilt {@link JwtParser}. The keystore is re-read when it changes, and the replica with
+ * {@code jwt.keys.rotation-enabled} adds a new key every {@code jwt.keys.rotation-interval}.
+ *
+ * A new key only verifies at first. It starts signing two reload intervals after it was
+ * written, by which time every replica has reloaded the file and accepts its tokens. A key is
+ * dropped once its successor has been signing for longer than any token lives. Rotation is off by default and must be on for exactly one replica, since it
+ * rewrites the whole keystore and concurrent rotations would lose each other's keys.
+ *
+ * Without a keystore path a single key is generated in memory, which is only suitable for a
+ * single instance (tokens die with the process).
+ */
+@Component
+public class JwtKeyManager {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Path keystorePath;
+    private final char[] password;
+    private final Duration rotationInterval;
+    private final Duration activationDelay;
+    private final boolean rotationEnabled;
+    private final LongSupplier clock;
+    private final Logger logger = LoggerFactory.getLogger(JwtKeyManager.class);
+
+    private volatile KeyRing keyRing;
+    private volatile long loadedModifiedTime;
+
+    /** The key new tokens are signed with and the kid naming it, always from the same reload. */
+    public record SigningKey(String kid, SecretKey key) {}
+
+    private record StoredKey(String kid, SecretKey key, Instant created) {}
+
+    /** Snapshot of the loaded keys, oldest first, swapped atomically on reload. */
+    private record KeyRing(SigningKey signingKey, List<StoredKey> keys, Map<String, JwtParser> parsers) {}
+
+    @Autowired
+    public JwtKeyManager(@Value("${jwt.keystore.path:}") String keystorePath,
+                         @Value("${jwt.keystore.password:}") String password,
+                         @Value("${jwt.keys.rotation-interval:P7D}") Duration rotationInterval,
+                         @Value("${jwt.keys.reload-interval:PT1M}") Duration reloadInterval,
+                         @Value("${jwt.keys.rotation-enabled:false}") boolean rotationEnabled) {
+        this(keystorePath, password, rotationInterval, reloadInterval, rotationEnabled, System::currentTimeMillis);
+    }
+
+    JwtKeyManager(String keystorePath,
+                  String password,
+                  Duration rotationInterval,
+                  Duration reloadInterval,
+                  boolean rotationEnabled,
+                  LongSupplier clock) {
+        this.keystorePath = keystorePath.isBlank() ? null : Path.of(keystorePath);
+        this.password = password.toCharArray();
+        this.rotationInterval = rotationInterval;
+        // one interval for every replica's next reload, one more for slow reloads and clock skew
+        this.activationDelay = reloadInterval.multipliedBy(2);
+        this.rotationEnabled = rotationEnabled;
+        this.clock = clock;
+
+        if (this.keystorePath == null) {
+            logger.warn("No jwt.keystore.path configured, using an in-memory signing key");
+            SecretKey key = generateKey();
+            String kid = UUID.randomUUID().toString();
+            this.keyRing = new KeyRing(new SigningKey(kid, key), List.of(new StoredKey(kid, key, now())),
+                    Map.of(kid, parserFor(key)));
+        } else {
+            refresh();
+            if (this.keyRing == null) {
+                throw new IllegalStateException("No JWT signing keys available in " + keystorePath
+                        + ", start one replica with jwt.keys.rotation-enabled=true to create them");
+            }
+        }
+    }
+
+    /** Single in-memory key, for tests and tools. */
+    public static JwtKeyManager inMemory() {
+        return new JwtKeyManager("", "", Duration.ofDays(7), Duration.ofMinutes(1), false);
+    }
+
+    public String activeKid() {
+        return keyRing.signingKey().kid();
+    }
+
+    /** Read once per token, a kid and key read separately could straddle a rotation. */
+    public SigningKey signingKey() {
+        return keyRing.signingKey();
+    }
+
+    /** Parser for the key that signed a token, or null for an unknown kid. */
+    public JwtParser parserFor(String kid) {
+        return kid == null ? null : keyRing.parsers().get(kid);
+    }
+
+    @Scheduled(initialDelayString = "${jwt.keys.reload-interval:PT1M}",
+               fixedDelayString = "${jwt.keys.reload-interval:PT1M}")
+    public synchronized void refresh() {
+        if (keystorePath == null) return;
+
+        try {
+            if (Files.notExists(keystorePath)) {
+                if (!rotationEnabled) {
+                    logger.warn("Keystore {} does not exist yet, waiting for the rotating instance to create it", keystorePath);
+                    return;
+                }
+                logger.info("Creating JWT keystore {}", keystorePath);
+                rotate(newKeyStore());
+                return;
+            }
+
+            long modified = Files.getLastModifiedTime(keystorePath).toMillis();
+            if (keyRing == null || modified != loadedModifiedTime) {
+                load();
+            } else {
+                activate();
+            }
+
+            // measured from the newest key, so a key waiting to sign does not trigger another
+            StoredKey newest = keyRing.keys().get(keyRing.keys().size() - 1);
+            if (rotationEnabled && newest.created().plus(rotationInterval).isBefore(now())) {
+                logger.info("Newest JWT key {} is older than {}, rotating", newest.kid(), rotationInterval);
+                rotate(readKeyStore());
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            // keep serving with the keys we already have
+            logger.error("Unable to refresh JWT keys from {}: {}", keystorePath, e.toString());
+        }
+    }
+
+    private void load() throws IOException, GeneralSecurityException {
+        KeyStore store = readKeyStore();
+        KeyStore.PasswordProtection protection = new KeyStore.PasswordProtection(password);
+
+        List<StoredKey> keys = new ArrayList<StoredKey>();
+        Map<String, JwtParser> parsers = new HashMap<String, JwtParser>();
+        for (String alias : Collections.list(store.aliases())) {
+            if (!(store.getEntry(alias, protection) instanceof KeyStore.SecretKeyEntry entry)) continue;
+
+            SecretKey key = entry.getSecretKey();
+            keys.add(new StoredKey(alias, key, store.getCreationDate(alias).toInstant()));
+            parsers.put(alias, parserFor(key));
+        }
+
+        if (keys.isEmpty()) {
+            throw new GeneralSecurityException("keystore contains no secret keys");
+        }
+        keys.sort(Comparator.comparing(StoredKey::created));
+
+        StoredKey active = activeKey(keys);
+        keyRing = new KeyRing(new SigningKey(active.kid(), active.key()), List.copyOf(keys), Map.copyOf(parsers));
+        loadedModifiedTime = Files.getLastModifiedTime(keystorePath).toMillis();
+        logger.info("Loaded {} JWT keys, signing with {}", parsers.size(), active.kid());
+    }
+
+    // a key written earlier may have waited long enough to sign without the file changing
+    private void activate() {
+        StoredKey active = activeKey(keyRing.keys());
+        if (active.kid().equals(keyRing.signingKey().kid())) return;
+
+        keyRing = new KeyRing(new SigningKey(active.kid(), active.key()), keyRing.keys(), keyRing.parsers());
+        logger.info("Signing with JWT key {}", active.kid());
+    }
+
+    // the newest key every replica has had time to load, or the oldest while none has
+    private StoredKey activeKey(List<StoredKey> keys) {
+        Instant now = now();
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            if (!activatesAt(keys.get(i)).isAfter(now)) return keys.get(i);
+        }
+        return keys.get(0);
+    }
+
+    private Instant activatesAt(StoredKey key) {
+        return key.created().plus(activationDelay);
+    }
+
+    private void rotate(KeyStore store) throws IOException, GeneralSecurityException {
+        KeyStore.PasswordProtection protection = new KeyStore.PasswordProtection(password);
+        store.setEntry(UUID.randomUUID().toString(), new KeyStore.SecretKeyEntry(generateKey()), protection);
+
+        // a key stops signing when its successor activates, and can go once the longest-lived
+        // token it signed before then has expired
+        List<String> aliases = Collections.list(store.aliases());
+        aliases.sort(Comparator.comparing(alias -> creationDate(store, alias)));
+        Instant retireBefore = now().minusMillis(JwtUtil.REFRESH_EXPIRATION);
+        for (int i = 0; i < aliases.size() - 1; i++) {
+            Instant successorActivated = creationDate(store, aliases.get(i + 1)).plus(activationDelay);
+            if (successorActivated.isBefore(retireBefore)) {
+                logger.info("Retiring JWT key {}", aliases.get(i));
+                store.deleteEntry(aliases.get(i));
+            }
+        }
+
+        // write next to the target and move into place so readers never see a partial file
+        Path parent = keystorePath.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, "jwt-keys", ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            store.store(out, password);
+        }
+        Files.move(tmp, keystorePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        load();
+    }
+
+    private static Instant creationDate(KeyStore store, String alias) {
+        try {
+            return store.getCreationDate(alias).toInstant();
+        } catch (KeyStoreException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Instant now() {
+        return Instant.ofEpochMilli(clock.getAsLong());
+    }
+
+    private KeyStore readKeyStore() throws IOException, GeneralSecurityException {
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keystorePath)) {
+            store.load(in, password);
+        }
+        return store;
+    }
+
+    private KeyStore newKeyStore() throws IOException, GeneralSecurityException {
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        store.load(null, password);
+        return store;
+    }
+
+    private static SecretKey generateKey() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance(ALGORITHM);
+            generator.init(256);
+            return generator.generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JwtParser parserFor(SecretKey key) {
+        return Jwts.parserBuilder().setSigningKey(key).build();
+    }
+}
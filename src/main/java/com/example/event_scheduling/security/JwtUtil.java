@@ -1,37 +1,86 @@
 package com.example.event_scheduling.security;
 
+import com.example.event_scheduling.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import java.io.IOException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TYPE_CLAIM = "typ";
+    public static final String ACCESS_TYPE = "access";
+    public static final String REFRESH_TYPE = "refresh";
 
-    public String generateToken(String userEmail) {
-        long expiration = 1000 * 60 * 30; // 30 minute token session
+    public static final long ACCESS_EXPIRATION = 1000 * 60 * 30; // 30 minute token session
+    public static final long REFRESH_EXPIRATION = 1000L * 60 * 60 * 24 * 30; // 30 days
+
+    private static final ObjectMapper HEADER_READER = new ObjectMapper();
+
+    private final JwtKeyManager keyManager;
+
+    @Autowired
+    public JwtUtil(JwtKeyManager keyManager) {
+        this.keyManager = keyManager;
+    }
+
+    public String generateToken(User user) {
+        return buildToken(user, ACCESS_TYPE, ACCESS_EXPIRATION);
+    }
+
+    public String generateRefreshToken(User user) {
+        return buildToken(user, REFRESH_TYPE, REFRESH_EXPIRATION);
+    }
+
+    private String buildToken(User user, String type, long expiration) {
+        JwtKeyManager.SigningKey signingKey = keyManager.signingKey();
         return Jwts.builder()
-                .setSubject(userEmail)
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(TYPE_CLAIM, type)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(key)
+                .signWith(signingKey.key())
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    /**
+     * Verifies the signature and expiry of {@code token} with the key named by its kid header.
+     *
+     * @return the token's claims, or null if it is not valid
+     */
+    public Claims parseClaims(String token) {
+        JwtParser parser = keyManager.parserFor(readKid(token));
+        if (parser == null) return null;
+
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
-    public boolean validateToken(String token) {
+    // the header is only read to pick a parser, the parser verifies it along with the rest
+    private static String readKid(String token) {
+        if (token == null) return null;
+        int dot = token.indexOf('.');
+        if (dot <= 0) return null;
+
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            JsonNode header = HEADER_READER.readTree(Base64.getUrlDecoder().decode(token.substring(0, dot)));
+            JsonNode kid = header.get(JwsHeader.KEY_ID);
+            return kid == null ? null : kid.asText();
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
         }
     }
 }
@@ -0,0 +1,100 @@
+package com.example.event_scheduling.security;
+
+import com.example.event_scheduling.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs right after {@link JwtFilter}. Every request takes a token from the caller's bucket
+ * (principal, or remote address when anonymous), and writes that carry an eventId also take
+ * one from that event's bucket, so a single hot event cannot be hammered by many users either.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter userLimiter;
+    private final RateLimiter eventLimiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           @Value("${ratelimit.enabled:true}") boolean enabled,
+                           @Value("${ratelimit.user.capacity:20}") int userCapacity,
+                           @Value("${ratelimit.user.refill-per-second:10}") double userRefill,
+                           @Value("${ratelimit.event.capacity:200}") int eventCapacity,
+                           @Value("${ratelimit.event.refill-per-second:100}") double eventRefill,
+                           @Value("${ratelimit.max-keys:100000}") int maxKeys) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.userLimiter = new RateLimiter(userCapacity, userRefill, maxKeys);
+        this.eventLimiter = new RateLimiter(eventCapacity, eventRefill, maxKeys);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String userKey = auth != null && auth.isAuthenticated() ? auth.getName() : request.getRemoteAddr();
+
+        long waitNanos = userLimiter.tryAcquire(userKey);
+        if (waitNanos == 0 && !HttpMethod.GET.matches(request.getMethod())) {
+            String eventId = request.getParameter("eventId");
+            if (eventId != null) {
+                waitNanos = eventLimiter.tryAcquire(eventId);
+            }
+        }
+
+        if (waitNanos > 0) {
+            logger.warn("Rate limit exceeded for {} on {}", userKey, request.getRequestURI());
+            reject(response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<String>("Too many requests", null));
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        int evicted = userLimiter.evictIdle() + eventLimiter.evictIdle();
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+}
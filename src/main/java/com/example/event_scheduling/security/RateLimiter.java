@@ -0,0 +1,74 @@
+package com.example.event_scheduling.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token buckets. Each bucket is a single {@link AtomicLong} virtual clock that moves
+ * forward one refill interval per token taken (the GCRA formulation of a token bucket), so
+ * acquiring a token is one CAS and never allocates. A bucket that has refilled completely carries
+ * no state, which makes it safe to evict at any time; {@link #evictIdle()} drops those, and the
+ * map never grows past {@code maxKeys}.
+ */
+public class RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<String, AtomicLong>();
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    public RateLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        this(capacity, refillPerSecond, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int capacity, double refillPerSecond, int maxKeys, LongSupplier clock) {
+        this.nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstNanos = nanosPerToken * capacity;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @return 0 if the token was granted, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle();
+                // still full of active keys: let the request through rather than grow the map
+                if (buckets.size() >= maxKeys) return 0;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now - burstNanos));
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now - burstNanos) + nanosPerToken;
+            if (next > now) {
+                return next - now;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Removes buckets that have refilled completely, they are indistinguishable from new ones. */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() + burstNanos <= now);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
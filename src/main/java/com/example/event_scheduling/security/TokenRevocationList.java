@@ -0,0 +1,105 @@
+package com.example.event_scheduling.security;
+
+import com.example.event_scheduling.cache.InvalidationBus;
+import com.example.event_scheduling.model.RevokedToken;
+import com.example.event_scheduling.repository.RevokedTokenRepository;
+import com.example.event_scheduling.utils.ExpiringSet;
+import com.example.event_scheduling.utils.ExpiringSet.AddResult;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Revoked token ids (jti). Each entry only lives until the token would have expired anyway, so
+ * the list stays as small as the set of live revoked tokens. Revocations are stored in the
+ * {@code revoked_tokens} table and loaded at startup, so a restarted or new node still refuses
+ * them; lookups only read the in-memory copy. Revocations are shared with the other running
+ * nodes over the {@link InvalidationBus}, with the token's expiry as the message version.
+ * <p>
+ * {@link #revoke} tells its caller whether this call revoked the token. The table's primary key
+ * decides, so "use once" checks hold across nodes even before the bus delivers the revocation.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final ExpiringSet<String> revoked;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final InvalidationBus invalidationBus;
+    private final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    public TokenRevocationList(@Value("${jwt.revocation.max-size:1000000}") int maxSize,
+                               RevokedTokenRepository revokedTokenRepository,
+                               InvalidationBus invalidationBus) {
+        this.revoked = new ExpiringSet<String>(maxSize);
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(InvalidationBus.REVOKED_TOKEN_REGION, message -> {
+            if (revoked.add(message.key(), message.version()) == AddResult.FULL) {
+                logger.error("Revocation list is full, token {} revoked by another node is still accepted here", message.key());
+            }
+        });
+        load();
+    }
+
+    private void load() {
+        int loaded = 0;
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(Instant.now())) {
+            if (revoked.add(token.getTokenId(), token.getExpiresAt().toEpochMilli()) == AddResult.FULL) {
+                logger.error("Revocation list is full after {} tokens, the rest are only refused on refresh", loaded);
+                break;
+            }
+            loaded++;
+        }
+        logger.info("Loaded {} revoked tokens", loaded);
+    }
+
+    public AddResult revoke(Claims claims) {
+        return revoke(claims.getId(), claims.getExpiration().getTime());
+    }
+
+    /**
+     * Revokes the token here and on the other nodes. Returns {@link AddResult#ADDED} only to the
+     * first caller on any node, {@link AddResult#PRESENT} if it was already revoked, and
+     * {@link AddResult#FULL} if it could not be stored; callers must then refuse the request.
+     */
+    public AddResult revoke(String tokenId, long expiresAtMillis) {
+        if (revoked.contains(tokenId)) return AddResult.PRESENT;
+
+        try {
+            revokedTokenRepository.insert(tokenId, Instant.ofEpochMilli(expiresAtMillis));
+        } catch (DataIntegrityViolationException e) {
+            // revoked on another node whose message has not arrived, or before a restart
+            revoked.add(tokenId, expiresAtMillis);
+            return AddResult.PRESENT;
+        } catch (DataAccessException e) {
+            logger.error("Could not store revocation of token {}: {}", tokenId, e.toString());
+            return AddResult.FULL;
+        }
+
+        AddResult result = revoked.add(tokenId, expiresAtMillis);
+        if (result == AddResult.FULL) {
+            logger.error("Revocation list is full ({} tokens), token {} is stored but still accepted here", revoked.size(), tokenId);
+        }
+        // the local subscriber runs again on publish and finds it present
+        invalidationBus.publish(InvalidationBus.REVOKED_TOKEN_REGION, tokenId, expiresAtMillis);
+        return result == AddResult.FULL ? AddResult.FULL : AddResult.ADDED;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.contains(tokenId);
+    }
+
+    // every node purges its own copy, the table delete is idempotent
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:PT5M}")
+    public void purgeExpired() {
+        revoked.purge();
+        revokedTokenRepository.deleteExpired(Instant.now());
+    }
+}
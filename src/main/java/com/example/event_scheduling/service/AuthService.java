@@ -1,36 +1,99 @@
 package com.example.event_scheduling.service;
 
+import com.example.event_scheduling.cache.InvalidationBus;
 import com.example.event_scheduling.model.User;
 import com.example.event_scheduling.repository.UserRepository;
+import com.example.event_scheduling.utils.ExpiringSet;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Component
 public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final ExpiringSet<String> unknownEmails;
+    private final long unknownEmailTtlMillis;
+    private final InvalidationBus invalidationBus;
     private final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     @Autowired
     public AuthService(UserRepository repository,
-                       PasswordEncoder encoder) {
+                       PasswordEncoder encoder,
+                       @Value("${auth.hashing.threads:0}") int hashingThreads,
+                       @Value("${auth.hashing.queue-capacity:100}") int hashingQueueCapacity,
+                       @Value("${auth.unknown-email-cache.ttl:PT5M}") Duration unknownEmailTtl,
+                       @Value("${auth.unknown-email-cache.max-size:100000}") int unknownEmailMaxSize,
+                       InvalidationBus invalidationBus) {
         this.userRepository = repository;
         this.encoder = encoder;
+        this.hashingExecutor = newHashingExecutor(hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors(),
+                hashingQueueCapacity);
+        this.unknownEmails = new ExpiringSet<String>(unknownEmailMaxSize);
+        this.unknownEmailTtlMillis = unknownEmailTtl.toMillis();
+        this.invalidationBus = invalidationBus;
+        // a signup on any node makes the email known everywhere
+        invalidationBus.subscribe(InvalidationBus.UNKNOWN_EMAIL_REGION, message -> unknownEmails.remove(message.key()));
+    }
+
+    /**
+     * Runs {@link #authenticate} on the hashing pool so bcrypt never occupies a servlet thread.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the pool's queue is full
+     */
+    public CompletableFuture<User> authenticateAsync(String email, String password) {
+        return CompletableFuture.supplyAsync(() -> authenticate(email, password), hashingExecutor);
+    }
+
+    /**
+     * Runs {@link #signup} on the hashing pool.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if the pool's queue is full
+     */
+    public CompletableFuture<User> signupAsync(String email,
+                                               String firstName,
+                                               String lastName,
+                                               String password) {
+        return CompletableFuture.supplyAsync(() -> signup(email, firstName, lastName, password), hashingExecutor);
     }
 
     public User authenticate(String email, String password) {
         logger.info("Authenticating account for {}", email);
+        if (unknownEmails.contains(email)) {
+            logger.info("User unable to be properly authenticated for {}", email);
+            return null;
+        }
+
         User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            unknownEmails.add(email, System.currentTimeMillis() + unknownEmailTtlMillis);
+        }
 
         if (user == null || !encoder.matches(password, user.getPassword())) {
             logger.info("User unable to be properly authenticated for {}", email);
             return null;
         }
 
+        // the stored hash used a lower cost than auth.bcrypt.strength, rehash while we have the password
+        if (encoder.upgradeEncoding(user.getPassword())) {
+            logger.info("Upgrading password hash for {}", email);
+            user.setPassword(encoder.encode(password));
+            userRepository.save(user);
+        }
+
         logger.info("User {} successfully authenticated", email);
         return user;
     }
@@ -51,6 +114,28 @@ public class AuthService {
         user.setPassword(encoder.encode(password));
 
         userRepository.save(user);
+        invalidationBus.publish(InvalidationBus.UNKNOWN_EMAIL_REGION, email, System.currentTimeMillis());
         return user;
     }
+
+    public User getUser(Long userId) {
+        return userRepository.findById(userId).orElse(null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private static ThreadPoolExecutor newHashingExecutor(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hashing-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
 }
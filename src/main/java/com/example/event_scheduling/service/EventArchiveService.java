@@ -0,0 +1,126 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.model.*;
+import com.example.event_scheduling.repository.ArchivedEventRepository;
+import com.example.event_scheduling.repository.EventRepository;
+import com.example.event_scheduling.repository.OccurrenceOverrideRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Moves finalized events whose final timeslot ended more than {@code events.archive.max-age}
+ * ago out of the hot tables. Recurring events are left alone, their series and overrides
+ * outlive the finalized timeslot. Archiving is off by default and must be on for exactly one
+ * replica, two would race to move the same events. Each batch runs in its own transaction so a run never holds
+ * locks on more than {@code events.archive.batch-size} events at a time.
+ */
+@Component
+public class EventArchiveService {
+
+    private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final OccurrenceOverrideRepository occurrenceOverrideRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger logger = LoggerFactory.getLogger(EventArchiveService.class);
+
+    @Value("${events.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${events.archive.max-age:P90D}")
+    private Duration maxAge;
+
+    @Value("${events.archive.batch-size:100}")
+    private int batchSize;
+
+    @Value("${events.archive.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Autowired
+    public EventArchiveService(EventRepository eventRepository,
+                               ArchivedEventRepository archivedEventRepository,
+                               OccurrenceOverrideRepository occurrenceOverrideRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.occurrenceOverrideRepository = occurrenceOverrideRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${events.archive.initial-delay:PT5M}",
+               fixedDelayString = "${events.archive.interval:PT1H}")
+    public void archiveFinalizedEvents() {
+        if (!enabled) return;
+
+        Instant cutoff = Instant.now().minus(maxAge);
+        logger.info("Archiving finalized events that ended before {}", cutoff);
+
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            Integer archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += archived == null ? 0 : archived;
+            if (archived == null || archived < batchSize) break;
+        }
+        logger.info("Archived {} finalized events", total);
+    }
+
+    int archiveBatch(Instant cutoff) {
+        List<Event> events = eventRepository.findArchivable(cutoff, PageRequest.of(0, batchSize));
+        for (Event event : events) {
+            archivedEventRepository.save(toArchivedEvent(event));
+
+            // one statement for the memberships, removing the event from each user's bag would
+            // load the bag and rewrite all of that user's user_event rows
+            eventRepository.deleteMembers(event.getId());
+            occurrenceOverrideRepository.deleteByEventId(event.getId());
+            eventRepository.delete(event);
+        }
+        return events.size();
+    }
+
+    private ArchivedEvent toArchivedEvent(Event event) {
+        ArchivedEvent archived = new ArchivedEvent();
+        archived.setId(event.getId());
+        archived.setCreatorId(event.getCreator().getId());
+        archived.setTitle(event.getTitle());
+        archived.setDescription(event.getDescription());
+        archived.setRequiredVotes(event.getRequiredVotes());
+        archived.setRecurrenceRule(event.getRecurrenceRule());
+        archived.setRecurrenceZone(event.getRecurrenceZone());
+        archived.setArchivedAt(LocalDateTime.now(ZoneOffset.UTC));
+
+        for (User u : event.getUsers()) {
+            archived.getParticipantIds().add(u.getId());
+        }
+
+        for (Timeslot t : event.getTimeslots()) {
+            ArchivedTimeslot at = new ArchivedTimeslot();
+            at.setTimeslotId(t.getId());
+            at.setCreatorId(t.getCreator().getId());
+            at.setStartTime(t.getStartTime());
+            at.setEndTime(t.getEndTime());
+            at.setFinalized(t.isFinalized());
+
+            StringBuilder votes = new StringBuilder();
+            for (Vote v : t.getVotes()) {
+                if (!votes.isEmpty()) votes.append(',');
+                votes.append(v.getId()).append(':').append(v.getUser().getId());
+            }
+            at.setVotes(votes.toString());
+            archived.getTimeslots().add(at);
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.dto.EventDeletionDTO;
+import com.example.event_scheduling.repository.EventRepository;
+import com.example.event_scheduling.repository.OccurrenceOverrideRepository;
+import com.example.event_scheduling.repository.TimeslotRepository;
+import com.example.event_scheduling.repository.VoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Removes events tombstoned by {@link EventService#deleteEvent} together with their votes,
+ * timeslots, participants and occurrence overrides. Every transaction deletes at most
+ * {@code events.purge.batch-size} rows from one table, children before parents, so purging a
+ * large event never holds locks on votes, timeslots or user_event for longer than one batch.
+ * A run stops after {@code events.purge.max-batches-per-run} batches and the next one carries on.
+ * Progress of the last {@code events.purge.history-size} purges run on this node is kept for
+ * {@link #getProgress}. Enable {@code events.purge.enabled} on one node only, purges running on
+ * two nodes would delete the same rows and block each other.
+ */
+@Component
+public class EventPurgeService {
+
+    public static final String PENDING = "PENDING";
+    public static final String PURGING = "PURGING";
+    public static final String PURGED = "PURGED";
+
+    private final EventRepository eventRepository;
+    private final TimeslotRepository timeslotRepository;
+    private final VoteRepository voteRepository;
+    private final OccurrenceOverrideRepository occurrenceOverrideRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Progress> progress;
+    private final Logger logger = LoggerFactory.getLogger(EventPurgeService.class);
+
+    @Value("${events.purge.enabled:false}")
+    private boolean enabled;
+
+    @Value("${events.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${events.purge.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Autowired
+    public EventPurgeService(EventRepository eventRepository,
+                             TimeslotRepository timeslotRepository,
+                             VoteRepository voteRepository,
+                             OccurrenceOverrideRepository occurrenceOverrideRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${events.purge.history-size:1000}") int historySize) {
+        this.eventRepository = eventRepository;
+        this.timeslotRepository = timeslotRepository;
+        this.voteRepository = voteRepository;
+        this.occurrenceOverrideRepository = occurrenceOverrideRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.progress = new LinkedHashMap<Long, Progress>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Progress> eldest) {
+                return size() > historySize;
+            }
+        };
+    }
+
+    @Scheduled(initialDelayString = "${events.purge.initial-delay:PT30S}",
+               fixedDelayString = "${events.purge.interval:PT10S}")
+    public void purgeDeletedEvents() {
+        if (!enabled) return;
+
+        int batches = 0;
+        for (Long eventId : eventRepository.findTombstonedIds(maxBatchesPerRun)) {
+            if (batches >= maxBatchesPerRun) break;
+            try {
+                batches += purge(eventId, maxBatchesPerRun - batches);
+            } catch (Exception e) {
+                // e.g. a vote that raced the tombstone, the next run starts over with the votes
+                logger.warn("Purging deleted event {} failed, will retry: {}", eventId, e.toString());
+                batches++;
+            }
+        }
+    }
+
+    /** Runs up to {@code maxBatches} batches for one tombstoned event and returns how many ran. */
+    int purge(Long eventId, int maxBatches) {
+        Progress p = track(eventId);
+        if (p == null) return 0;
+
+        int batches = 0;
+        while (batches < maxBatches) {
+            batches++;
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeBatch(eventId, p)))) {
+                p.purged = true;
+                logger.info("Purged deleted event {}: {} votes, {} timeslots, {} participants",
+                        eventId, p.votes.get(), p.timeslots.get(), p.participants.get());
+                break;
+            }
+        }
+        return batches;
+    }
+
+    // one bounded delete per transaction, returns true once the event row itself is gone
+    private boolean purgeBatch(Long eventId, Progress p) {
+        int votes = voteRepository.deleteBatchForEvent(eventId, batchSize);
+        if (votes > 0) {
+            p.votes.addAndGet(votes);
+            return false;
+        }
+        int timeslots = timeslotRepository.deleteBatchForEvent(eventId, batchSize);
+        if (timeslots > 0) {
+            p.timeslots.addAndGet(timeslots);
+            return false;
+        }
+        int participants = eventRepository.deleteMembersBatch(eventId, batchSize);
+        if (participants > 0) {
+            p.participants.addAndGet(participants);
+            return false;
+        }
+        occurrenceOverrideRepository.deleteByEventId(eventId);
+        eventRepository.deleteTombstone(eventId);
+        return true;
+    }
+
+    private Progress track(Long eventId) {
+        synchronized (progress) {
+            Progress p = progress.get(eventId);
+            // kept for getProgress once purged, there is nothing left to delete
+            if (p != null) return p.purged ? null : p;
+        }
+        Long creatorId = eventRepository.findTombstoneCreatorId(eventId);
+        if (creatorId == null) return null;
+
+        Progress p = new Progress(creatorId);
+        synchronized (progress) {
+            Progress existing = progress.putIfAbsent(eventId, p);
+            return existing != null ? existing : p;
+        }
+    }
+
+    /**
+     * Deletion progress of the event, for its creator only. Returns null if the event is not
+     * tombstoned, or was purged by another node or too long ago to be remembered.
+     */
+    public EventDeletionDTO getProgress(Long eventId, Long userId) {
+        // tombstone first, a purge that finishes in between is then still found below
+        Long creatorId = eventRepository.findTombstoneCreatorId(eventId);
+        Progress p;
+        synchronized (progress) {
+            p = progress.get(eventId);
+        }
+
+        if (creatorId == null) {
+            if (p == null || p.creatorId.longValue() != userId.longValue()) return null;
+            return new EventDeletionDTO(eventId, PURGED, p.votes.get(), p.timeslots.get(), p.participants.get(), 0L, 0L, 0L);
+        }
+
+        if (creatorId.longValue() != userId.longValue()) {
+            logger.warn("Only event creators can follow the deletion of an event.");
+            return null;
+        }
+
+        return new EventDeletionDTO(eventId, p == null ? PENDING : PURGING,
+                p == null ? 0L : p.votes.get(),
+                p == null ? 0L : p.timeslots.get(),
+                p == null ? 0L : p.participants.get(),
+                voteRepository.countByEventId(eventId),
+                timeslotRepository.countByEventId(eventId),
+                eventRepository.countMembers(eventId));
+    }
+
+    private static final class Progress {
+        private final Long creatorId;
+        private final AtomicLong votes = new AtomicLong();
+        private final AtomicLong timeslots = new AtomicLong();
+        private final AtomicLong participants = new AtomicLong();
+        private volatile boolean purged;
+
+        private Progress(Long creatorId) {
+            this.creatorId = creatorId;
+        }
+    }
+}
@@ -1,27 +1,44 @@
 package com.example.event_scheduling.service;
 
+import com.example.event_scheduling.availability.BusyTimeIndex;
+import com.example.event_scheduling.calendar.CalendarFeedService;
+import com.example.event_scheduling.cache.TransactionHooks;
+import com.example.event_scheduling.dto.CalendarEntry;
 import com.example.event_scheduling.dto.EventDTO;
 import com.example.event_scheduling.dto.TimeslotDTO;
 import com.example.event_scheduling.dto.VoteDTO;
+import com.example.event_scheduling.model.ArchivedEvent;
+import com.example.event_scheduling.model.ArchivedTimeslot;
+import com.example.event_scheduling.model.DomainEventType;
 import com.example.event_scheduling.model.Event;
 import com.example.event_scheduling.model.Timeslot;
 import com.example.event_scheduling.model.User;
 import com.example.event_scheduling.model.Vote;
+import com.example.event_scheduling.notification.NotificationDispatcher;
+import com.example.event_scheduling.recurrence.RecurrenceRule;
+import com.example.event_scheduling.repository.ArchivedEventRepository;
 import com.example.event_scheduling.repository.EventRepository;
 import com.example.event_scheduling.repository.TimeslotRepository;
 import com.example.event_scheduling.repository.UserRepository;
 import com.example.event_scheduling.repository.VoteRepository;
+import com.example.event_scheduling.utils.SingleFlight;
+import com.fasterxml.jackson.core.JsonGenerator;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Component
 public class EventService {
@@ -30,40 +47,93 @@ public class EventService {
     private final EventRepository eventRepository;
     private final TimeslotRepository timeslotRepository;
     private final VoteRepository voteRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final OutboxService outboxService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final CalendarFeedService calendarFeedService;
+    private final BusyTimeIndex busyTimeIndex;
     private final Logger logger = LoggerFactory.getLogger(EventService.class);
     private final Integer defaultRequiredVotes = 5;
 
+    // concurrent identical reads share one load and DTO build; views are keyed by
+    // creator/participant so vote lists never leak to participants
+    private final SingleFlight<Long, List<EventDTO>> eventsFlight = new SingleFlight<Long, List<EventDTO>>();
+    private final SingleFlight<EventViewKey, EventDTO> eventViewFlight = new SingleFlight<EventViewKey, EventDTO>();
+    private final SingleFlight<VotesKey, List<TimeslotDTO>> votesFlight = new SingleFlight<VotesKey, List<TimeslotDTO>>();
+
+    private record EventViewKey(Long eventId, boolean isCreator) {}
+    private record VotesKey(Long userId, Long eventId, Long timeslotId) {}
+
     @Autowired
     public EventService(UserRepository userRepository,
                         EventRepository eventRepository,
                         TimeslotRepository timeslotRepository,
-                        VoteRepository voteRepository) {
+                        VoteRepository voteRepository,
+                        ArchivedEventRepository archivedEventRepository,
+                        OutboxService outboxService,
+                        NotificationDispatcher notificationDispatcher,
+                        CalendarFeedService calendarFeedService,
+                        BusyTimeIndex busyTimeIndex) {
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.timeslotRepository = timeslotRepository;
         this.voteRepository = voteRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.outboxService = outboxService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.calendarFeedService = calendarFeedService;
+        this.busyTimeIndex = busyTimeIndex;
     }
 
     public List<EventDTO> getEvents(Long userId) {
+        return eventsFlight.execute(userId, () -> loadEvents(userId));
+    }
+
+    private List<EventDTO> loadEvents(Long userId) {
         User user = userRepository.findById(userId).orElse(null);
         if (user == null) {
             logger.info("No user found for userId {}", userId);
             return null;
         }
 
-        logger.info("Found {} events for user {}", user.getEvents().size(), userId);
-        return user.getEvents().stream()
-                .map(event -> toEventDTO(event, userId))
-                .collect(Collectors.toList());
+        List<Event> events = user.getEvents();
+        logger.info("Found {} events for user {}", events.size(), userId);
+        List<EventDTO> dtos = new ArrayList<EventDTO>(events.size());
+        for (Event event : events) {
+            boolean isCreator = event.getCreator().getId().longValue() == userId.longValue();
+            dtos.add(eventViewFlight.execute(new EventViewKey(event.getId(), isCreator),
+                    () -> toEventDTO(event, userId)));
+        }
+        return dtos;
+    }
+
+    /**
+     * Same as {@link #getEvents(Long)} but also reads the archive tables, which is slower
+     * and only needed when clients explicitly ask for old finalized events.
+     */
+    public List<EventDTO> getEventsIncludingArchived(Long userId) {
+        List<EventDTO> events = getEvents(userId);
+        if (events == null) return null;
+
+        List<ArchivedEvent> archived = archivedEventRepository.findByParticipantId(userId);
+        logger.info("Found {} archived events for user {}", archived.size(), userId);
+
+        List<EventDTO> all = new ArrayList<EventDTO>(events);
+        for (ArchivedEvent a : archived) {
+            all.add(toEventDTO(a, userId));
+        }
+        return all;
     }
 
     @Transactional
     public EventDTO createEvent(Long creatorId,
                                 String title,
                                 String description,
-                                LocalDateTime startDate,
-                                LocalDateTime endDate,
-                                Integer requiredVotes) {
+                                Instant startDate,
+                                Instant endDate,
+                                Integer requiredVotes,
+                                String recurrence,
+                                String timeZone) {
         logger.info("Creating new event for {} from {} to {}", creatorId, startDate, endDate);
 
         User user = userRepository.findById(creatorId).orElse(null);
@@ -74,11 +144,35 @@ public class EventService {
 
         if (!isValidDateRange(startDate, endDate)) return null;
 
+        RecurrenceRule rule = null;
+        if (recurrence != null && !recurrence.isBlank()) {
+            try {
+                rule = RecurrenceRule.parse(recurrence);
+            } catch (IllegalArgumentException e) {
+                logger.error("Invalid recurrence rule {}: {}", recurrence, e.getMessage());
+                return null;
+            }
+        }
+
+        // only a series needs a zone, its occurrences keep the first one's wall-clock time
+        ZoneId zone = null;
+        if (rule != null && timeZone != null && !timeZone.isBlank()) {
+            try {
+                zone = ZoneId.of(timeZone);
+            } catch (DateTimeException e) {
+                logger.error("Invalid time zone {}: {}", timeZone, e.getMessage());
+                return null;
+            }
+        }
+
         try {
             Event newEvent = new Event(user,
                     title != null ? title : "Untitled Event",
                     description != null ? description : "No description provided.",
                     requiredVotes != null ? requiredVotes : defaultRequiredVotes);
+            // a series is one event row; invites and votes apply to every occurrence
+            newEvent.setRecurrenceRule(rule != null ? rule.toString() : null);
+            newEvent.setRecurrenceZone(zone != null ? zone.getId() : null);
 
             Timeslot initialTimeslot = new Timeslot(newEvent, user, startDate, endDate);
             newEvent.addTimeslot(initialTimeslot);
@@ -90,6 +184,8 @@ public class EventService {
 
             eventRepository.save(newEvent);
             userRepository.save(user);
+            recordChange(newEvent, DomainEventType.EVENT_CREATED,
+                    Map.of("creatorId", creatorId, "title", newEvent.getTitle(), "requiredVotes", newEvent.getRequiredVotes()));
 
             return toEventDTO(newEvent, creatorId);
         } catch (Exception e) {
@@ -123,6 +219,9 @@ public class EventService {
 
             userRepository.save(invitee);
             eventRepository.save(event);
+            recordChange(event, DomainEventType.USER_INVITED, Map.of("senderId", senderId, "userId", userId));
+            notifyAfterCommit(List.of(invitee.getEmail()),
+                    sender.getEmail() + " invited you to \"" + event.getTitle() + "\"");
         }
         return toEventDTO(event, senderId);
     }
@@ -132,29 +231,34 @@ public class EventService {
         logger.info("User {} declining event invitation {}", userId, eventId);
         User user = userRepository.findById(userId).orElse(null);
         Event event = eventRepository.findById(eventId).orElse(null);
-        List<Timeslot> timeslots = timeslotRepository.findByCreatorAndEvent(user, event);
 
         if (user == null || event == null) {
             logger.info("Invalid userId ({})/eventId ({}), please check values.", userId, eventId);
             return null;
         }
 
+        if (event.getCreator().getId().longValue() == userId.longValue()) {
+            logger.warn("Cannot remove the creator from the event, event must be deleted.");
+            return null;
+        }
+
         try {
-            if (timeslots != null) {
-                // remove all votes a user has cast if they are declining after having accepted
-                for (Timeslot t : timeslots) {
-                    logger.info("Removing timeslot {}", t.getId());
-                    voteRepository.deleteByUserAndTimeslot(user, t);
-                }
-                // remove all timeslots a user has proposed if they are declining after having accepted
-                timeslotRepository.deleteByCreatorAndEvent(user, event);
+            // three bulk deletes, however many timeslots and votes the user has
+            if (userRepository.removeFromEvent(userId, eventId) == 0) {
+                logger.info("User {} is not a participant of event {}", userId, eventId);
+                return null;
             }
-
-            event.removeUser(user);
-            user.removeEvent(event);
-
-            userRepository.save(user);
-            eventRepository.save(event);
+            // the user's votes in the event and everyone's votes on timeslots the user proposed,
+            // a finalized timeslot the user proposed stays with the other members' votes
+            int votes = voteRepository.deleteForDeclinedUser(eventId, userId);
+            int timeslots = timeslotRepository.deleteProposedBy(eventId, userId);
+            logger.info("Removed {} votes and {} timeslots for user {} declining event {}", votes, timeslots, userId, eventId);
+
+            recordChange(event, DomainEventType.USER_DECLINED, Map.of("userId", userId));
+            TransactionHooks.afterCommit(() -> {
+                calendarFeedService.eventDeclined(eventId, userId);
+                busyTimeIndex.eventRemoved(eventId, List.of(userId));
+            });
             return "Successfully declined event";
         } catch (Exception e) {
             logger.info("Exception encountered in declineEvent: {}", e.toString());
@@ -162,11 +266,42 @@ public class EventService {
         }
     }
 
+    /**
+     * Tombstones the event so no read sees it any more, and leaves its votes, timeslots and
+     * participants to {@link EventPurgeService}. Only the creator can delete an event.
+     */
+    @Transactional
+    public String deleteEvent(Long eventId, Long userId) {
+        logger.info("User {} deleting event {}", userId, eventId);
+        Event event = eventRepository.findById(eventId).orElse(null);
+
+        if (event == null) {
+            logger.info("Invalid eventId ({}), please check values.", eventId);
+            return null;
+        }
+
+        if (event.getCreator().getId().longValue() != userId.longValue()) {
+            logger.warn("Only event creators are allowed to delete an event.");
+            return null;
+        }
+
+        // members have to be read before the tombstone hides the event
+        List<Long> memberIds = eventRepository.findMemberIds(eventId);
+        event.setDeletedAt(Instant.now());
+        eventRepository.save(event);
+        recordChange(event, DomainEventType.EVENT_DELETED, Map.of("userId", userId));
+        TransactionHooks.afterCommit(() -> {
+            calendarFeedService.eventDeleted(eventId, memberIds);
+            busyTimeIndex.eventRemoved(eventId, memberIds);
+        });
+        return "Successfully deleted event";
+    }
+
     @Transactional
     public EventDTO proposeTimeslot(Long eventId,
                                     Long userId,
-                                    LocalDateTime start,
-                                    LocalDateTime end) {
+                                    Instant start,
+                                    Instant end) {
         logger.info("User {} proposing event {} timeslot {} to {}", userId, eventId, start.toString(), end.toString());
         User user = userRepository.findById(userId).orElse(null);
         Event event = eventRepository.findById(eventId).orElse(null);
@@ -191,6 +326,7 @@ public class EventService {
             }
             event.addTimeslot(t);
             eventRepository.save(event);
+            recordChange(event, DomainEventType.TIMESLOT_PROPOSED, Map.of("userId", userId, "startTime", start.toString(), "endTime", end.toString()));
 
             return toEventDTO(event, userId);
         } catch (Exception e) {
@@ -224,6 +360,11 @@ public class EventService {
             return null;
         }
 
+        if (!remove && !busyTimeIndex.isFree(userId, timeslot.getStartTime(), timeslot.getEndTime())) {
+            logger.info("User {} is already busy during timeslot {}, rejecting vote", userId, timeslotId);
+            return null;
+        }
+
         return remove ? removeVoteFromTimeslot(user, event, timeslot) : addVoteToTimeslot(user, event, timeslot);
     }
 
@@ -241,6 +382,7 @@ public class EventService {
         event.addTimeslot(updatedT);
 
         eventRepository.save(event);
+        recordChange(event, DomainEventType.VOTE_CAST, Map.of("userId", user.getId(), "timeslotId", timeslot.getId()));
         return toEventDTO(event, user.getId());
     }
 
@@ -255,13 +397,21 @@ public class EventService {
 
         Timeslot updatedT = event.removeTimeslot(timeslot);
         timeslot.removeVote(v);
+        // the vote no longer has a timeslot, so it has to go rather than be flushed
+        voteRepository.delete(v);
         event.addTimeslot(updatedT);
         eventRepository.save(event);
+        recordChange(event, DomainEventType.VOTE_REMOVED, Map.of("userId", user.getId(), "timeslotId", timeslot.getId()));
 
         return toEventDTO(event, user.getId());
     }
 
     public List<TimeslotDTO> getVotes(Long userId, Long eventId, Long timeslotId) {
+        return votesFlight.execute(new VotesKey(userId, eventId, timeslotId),
+                () -> loadVotes(userId, eventId, timeslotId));
+    }
+
+    private List<TimeslotDTO> loadVotes(Long userId, Long eventId, Long timeslotId) {
         logger.info("User {} attempting to view votes for event {} with timeslots {}", userId, eventId, timeslotId == null ? "all" : timeslotId);
         User user = userRepository.findById(userId).orElse(null);
         Event event = eventRepository.findById(eventId).orElse(null);
@@ -292,9 +442,87 @@ public class EventService {
             timeslots = List.of(retrievedT);
         }
 
-        return timeslots.stream()
-                .map(timeslot -> toTimeslotDTO(timeslot, true))
-                .collect(Collectors.toList());
+        List<TimeslotDTO> dtos = new ArrayList<TimeslotDTO>(timeslots.size());
+        for (Timeslot t : timeslots) {
+            dtos.add(toTimeslotDTO(t, true));
+        }
+        return dtos;
+    }
+
+    /**
+     * Runs the same permission checks as {@link #getVotes} and returns how many votes the
+     * response would contain, or null if the user may not view them.
+     */
+    public Long countVisibleVotes(Long userId, Long eventId, Long timeslotId) {
+        User user = userRepository.findById(userId).orElse(null);
+        Event event = eventRepository.findById(eventId).orElse(null);
+
+        if (user == null || event == null) {
+            logger.error("Invalid userId ({})/eventId ({}), please check values.", userId, eventId);
+            return null;
+        }
+
+        if (user.getId().longValue() != event.getCreator().getId().longValue()) {
+            logger.warn("User authorized to view votes.");
+            return null;
+        }
+
+        if (timeslotId == null) {
+            return voteRepository.countByEventId(eventId);
+        }
+
+        if (!timeslotRepository.existsById(timeslotId)) {
+            logger.error("Unable to retrieve timeslot for timeslotId {}", timeslotId);
+            return null;
+        }
+        return voteRepository.countByTimeslotId(timeslotId);
+    }
+
+    /**
+     * Writes the {@link #getVotes} result as a JSON array straight from two ordered cursors
+     * (timeslots and votes) so large events are never held in memory as DTO lists.
+     * Callers must have checked permissions with {@link #countVisibleVotes} first.
+     */
+    @Transactional
+    public void writeVotes(Long eventId, Long timeslotId, JsonGenerator gen) throws IOException {
+        try (Stream<Timeslot> timeslots = timeslotId == null
+                     ? timeslotRepository.streamByEventId(eventId)
+                     : timeslotRepository.findById(timeslotId).stream();
+             Stream<VoteDTO> votes = timeslotId == null
+                     ? voteRepository.streamByEventId(eventId)
+                     : voteRepository.streamByTimeslotId(timeslotId)) {
+            Iterator<VoteDTO> voteIt = votes.iterator();
+            VoteDTO next = voteIt.hasNext() ? voteIt.next() : null;
+
+            gen.writeStartArray();
+            for (Iterator<Timeslot> it = timeslots.iterator(); it.hasNext(); ) {
+                Timeslot t = it.next();
+                gen.writeStartObject();
+                gen.writeNumberField("id", t.getId());
+                gen.writeFieldName("startTime");
+                gen.writeObject(t.getStartTime());
+                gen.writeFieldName("endTime");
+                gen.writeObject(t.getEndTime());
+                gen.writeBooleanField("finalized", t.isFinalized());
+                gen.writeNumberField("creatorId", t.getCreator().getId());
+
+                // both cursors are ordered by timeslot id, so the votes for t come next
+                gen.writeArrayFieldStart("votes");
+                while (next != null && next.timeslotId().longValue() <= t.getId().longValue()) {
+                    if (next.timeslotId().longValue() == t.getId().longValue()) {
+                        gen.writeStartObject();
+                        gen.writeNumberField("id", next.id());
+                        gen.writeNumberField("userId", next.userId());
+                        gen.writeNumberField("timeslotId", next.timeslotId());
+                        gen.writeEndObject();
+                    }
+                    next = voteIt.hasNext() ? voteIt.next() : null;
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
     }
 
     @Transactional
@@ -330,16 +558,24 @@ public class EventService {
             return null;
         }
 
+        // force also finalizes over members who have another finalized event at that time
+        List<Long> memberIds = memberIds(event);
+        List<Long> busy = busyTimeIndex.busyUsers(memberIds, maxTimeslot.getStartTime(), maxTimeslot.getEndTime());
+        if (!force && !busy.isEmpty()) {
+            logger.warn("Users {} already have a finalized event overlapping timeslot {}", busy, maxTimeslot.getId());
+            return null;
+        }
+
         return finalizeEventHelper(user, event, maxTimeslot);
     }
 
-    private boolean isValidDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+    private boolean isValidDateRange(Instant startDate, Instant endDate) {
         if (startDate == null || endDate == null) {
             logger.error("Invalid startDate ({})/endDate ({})", startDate, endDate);
             return false;
         }
 
-        if (startDate.isAfter(endDate) || startDate.isEqual(endDate)) {
+        if (!startDate.isBefore(endDate)) {
             logger.error("Start date must be before end date");
             return false;
         }
@@ -347,11 +583,25 @@ public class EventService {
         return true;
     }
 
+    // the outbox row commits with the change
+    private void recordChange(Event event, DomainEventType type, Map<String, Object> details) {
+        outboxService.record(event.getId(), type, details);
+    }
+
+    // notifications are only queued once the change is committed and never sent inside the transaction
+    private void notifyAfterCommit(List<String> recipients, String message) {
+        TransactionHooks.afterCommit(() -> {
+            for (String recipient : recipients) {
+                notificationDispatcher.enqueue(recipient, message);
+            }
+        });
+    }
+
     private EventDTO finalizeEventHelper(User user, Event event, Timeslot finalTimeslot) {
         // check if timeslot is valid
-        LocalDateTime currentUTC = LocalDateTime.now(ZoneOffset.UTC);
-        if (finalTimeslot.getStartTime().isBefore(currentUTC)) {
-            logger.error("Timeslot is no longer valid! {} gte {}", currentUTC, finalTimeslot.getStartTime());
+        Instant now = Instant.now();
+        if (finalTimeslot.getStartTime().isBefore(now)) {
+            logger.error("Timeslot is no longer valid! {} gte {}", now, finalTimeslot.getStartTime());
             return null;
         }
 
@@ -360,10 +610,39 @@ public class EventService {
         updatedT.setFinalized(true);
         event.addTimeslot(updatedT);
         eventRepository.save(event);
+        recordChange(event, DomainEventType.EVENT_FINALIZED,
+                Map.of("timeslotId", finalTimeslot.getId(), "startTime", finalTimeslot.getStartTime().toString(), "endTime", finalTimeslot.getEndTime().toString()));
+
+        List<String> participants = new ArrayList<String>(event.getUsers().size());
+        for (User u : event.getUsers()) {
+            if (u.getId().longValue() == user.getId().longValue()) continue;
+            participants.add(u.getEmail());
+        }
+        List<Long> memberIds = memberIds(event);
+        notifyAfterCommit(participants, "\"" + event.getTitle() + "\" is scheduled for "
+                + finalTimeslot.getStartTime() + " to " + finalTimeslot.getEndTime());
+
+        CalendarEntry entry = new CalendarEntry(event.getId(), event.getTitle(), event.getDescription(),
+                finalTimeslot.getStartTime(), finalTimeslot.getEndTime(), event.getRecurrenceRule(), event.getRecurrenceZone());
+        TransactionHooks.afterCommit(() -> {
+            calendarFeedService.eventFinalized(entry, memberIds);
+            busyTimeIndex.eventFinalized(entry.eventId(), entry.startTime(), entry.endTime(), memberIds);
+        });
 
         return toEventDTO(event, user.getId());
     }
 
+    // the creator followed by every participant
+    private List<Long> memberIds(Event event) {
+        Long creatorId = event.getCreator().getId();
+        List<Long> memberIds = new ArrayList<Long>(event.getUsers().size() + 1);
+        memberIds.add(creatorId);
+        for (User u : event.getUsers()) {
+            if (u.getId().longValue() != creatorId.longValue()) memberIds.add(u.getId());
+        }
+        return memberIds;
+    }
+
     public Boolean checkEventFinalized(Long eventId) {
         Event event = eventRepository.findById(eventId).orElse(null);
 
@@ -381,44 +660,56 @@ public class EventService {
         return true;
     }
 
+    // DTOs are built with plain loops into exactly sized lists: these run for every
+    // timeslot and vote on every read, so stream and list-growth garbage adds up
     private EventDTO toEventDTO(Event event, Long userId) {
-        EventDTO dto = new EventDTO();
-        dto.setId(event.getId());
-        dto.setTitle(event.getTitle());
-        dto.setDescription(event.getDescription());
-        dto.setFinalized(event.isFinalized());
-        dto.setCreatorId(event.getCreator().getId());
+        Long creatorId = event.getCreator().getId();
+        boolean isCreator = creatorId.longValue() == userId.longValue();
 
-        boolean isCreator = event.getCreator().getId().longValue() == userId.longValue();
-
-        dto.setTimeslots(event.getTimeslots().stream()
-                .map(timeslot -> toTimeslotDTO(timeslot, isCreator))
-                .collect(Collectors.toList()));
-
-        return dto;
+        List<Timeslot> timeslots = event.getTimeslots();
+        List<TimeslotDTO> dtos = new ArrayList<TimeslotDTO>(timeslots.size());
+        for (Timeslot t : timeslots) {
+            dtos.add(toTimeslotDTO(t, isCreator));
+        }
+        return new EventDTO(event.getId(), event.getTitle(), event.getDescription(), event.isFinalized(),
+                event.getRequiredVotes(), creatorId, dtos, event.getRecurrenceRule(), event.getRecurrenceZone());
     }
 
     private TimeslotDTO toTimeslotDTO(Timeslot timeslot, boolean isCreator) {
-        TimeslotDTO dto = new TimeslotDTO();
-        dto.setId(timeslot.getId());
-        dto.setStartTime(timeslot.getStartTime());
-        dto.setEndTime(timeslot.getEndTime());
-        dto.setFinalized(timeslot.isFinalized());
-        dto.setCreatorId(timeslot.getCreator().getId());
-
+        List<VoteDTO> votes = null;
         if (isCreator) {
-            dto.setVotes(timeslot.getVotes().stream()
-                    .map(this::toVoteDTO)
-                    .collect(Collectors.toList()));
+            Long timeslotId = timeslot.getId();
+            List<Vote> entities = timeslot.getVotes();
+            votes = new ArrayList<VoteDTO>(entities.size());
+            for (Vote v : entities) {
+                votes.add(new VoteDTO(v.getId(), v.getUser().getId(), timeslotId));
+            }
         }
-        return dto;
+        return new TimeslotDTO(timeslot.getId(), timeslot.getStartTime(), timeslot.getEndTime(),
+                timeslot.isFinalized(), timeslot.getCreator().getId(), votes);
     }
 
-    private VoteDTO toVoteDTO(Vote vote) {
-        VoteDTO dto = new VoteDTO();
-        dto.setId(vote.getId());
-        dto.setUserId(vote.getUser().getId());
-        dto.setTimeslotId(vote.getTimeslot().getId());
-        return dto;
+    private EventDTO toEventDTO(ArchivedEvent event, Long userId) {
+        boolean isCreator = event.getCreatorId().longValue() == userId.longValue();
+
+        List<TimeslotDTO> timeslots = new ArrayList<TimeslotDTO>(event.getTimeslots().size());
+        for (ArchivedTimeslot t : event.getTimeslots()) {
+            List<VoteDTO> votes = null;
+            if (isCreator) {
+                votes = new ArrayList<VoteDTO>();
+                if (t.getVotes() != null && !t.getVotes().isEmpty()) {
+                    for (String pair : t.getVotes().split(",")) {
+                        int sep = pair.indexOf(':');
+                        votes.add(new VoteDTO(Long.valueOf(pair.substring(0, sep)),
+                                Long.valueOf(pair.substring(sep + 1)),
+                                t.getTimeslotId()));
+                    }
+                }
+            }
+            timeslots.add(new TimeslotDTO(t.getTimeslotId(), t.getStartTime(), t.getEndTime(),
+                    t.isFinalized(), t.getCreatorId(), votes));
+        }
+        return new EventDTO(event.getId(), event.getTitle(), event.getDescription(), true,
+                event.getRequiredVotes(), event.getCreatorId(), timeslots, event.getRecurrenceRule(), event.getRecurrenceZone());
     }
 }
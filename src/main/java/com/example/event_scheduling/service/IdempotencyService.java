@@ -0,0 +1,162 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.dto.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response of write requests sent with an {@code Idempotency-Key} header.
+ * A retry with the same key (per principal and endpoint) gets the stored response back
+ * instead of running again, and a duplicate that arrives while the first is still running
+ * waits for it. Only 2xx responses are kept; after an error the key is free again, so a retry
+ * runs the request once more instead of replaying the failure. Entries expire after {@code idempotency.ttl} and the store is capped at
+ * {@code idempotency.max-entries}, dropping the oldest completed responses first.
+ */
+@Component
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    public IdempotencyService(@Value("${idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Runs {@code action} once per key. {@code fingerprint} identifies the request payload;
+     * reusing a key with a different payload is rejected with 422.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<ApiResponse<T>> execute(String key,
+                                                      String endpoint,
+                                                      String fingerprint,
+                                                      Supplier<ResponseEntity<ApiResponse<T>>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+
+        String scopedKey = principal() + ':' + endpoint + ':' + key;
+        Entry entry = new Entry(fingerprint);
+        while (true) {
+            Entry existing = entries.putIfAbsent(scopedKey, entry);
+            if (existing == null) break;
+            if (existing.isExpired(System.currentTimeMillis(), ttlMillis)) {
+                entries.remove(scopedKey, existing);
+                continue;
+            }
+
+            if (!existing.fingerprint.equals(fingerprint)) {
+                logger.warn("Idempotency key {} reused with a different request on {}", key, endpoint);
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                        .body(new ApiResponse<T>("Idempotency-Key was already used for a different request", null));
+            }
+
+            ResponseEntity<ApiResponse<T>> original;
+            try {
+                original = (ResponseEntity<ApiResponse<T>>) existing.response.join();
+            } catch (CompletionException e) {
+                // the original attempt blew up and has been removed, run this one instead
+                entries.remove(scopedKey, existing);
+                continue;
+            }
+            if (!original.getStatusCode().is2xxSuccessful()) {
+                // not kept, run this one instead
+                entries.remove(scopedKey, existing);
+                continue;
+            }
+
+            logger.info("Replaying response for idempotency key {} on {}", key, endpoint);
+            return replayed(original);
+        }
+
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+
+        try {
+            ResponseEntity<ApiResponse<T>> response = action.get();
+            if (response.getStatusCode().is2xxSuccessful()) {
+                entry.completedAt = System.currentTimeMillis();
+            } else {
+                entries.remove(scopedKey, entry);
+            }
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            entries.remove(scopedKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.eviction-interval:PT1M}")
+    public void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> e.isExpired(now, ttlMillis));
+
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) return;
+
+        List<Map.Entry<String, Entry>> completed = new ArrayList<Map.Entry<String, Entry>>();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (e.getValue().completedAt > 0) completed.add(e);
+        }
+        completed.sort(Comparator.comparingLong(e -> e.getValue().completedAt));
+        for (int i = 0; i < excess && i < completed.size(); i++) {
+            entries.remove(completed.get(i).getKey(), completed.get(i).getValue());
+        }
+    }
+
+    private String principal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? "anonymous" : auth.getName();
+    }
+
+    private <T> ResponseEntity<T> replayed(ResponseEntity<T> original) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<T>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    private static class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<ResponseEntity<?>>();
+        private volatile long completedAt;
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        boolean isExpired(long now, long ttlMillis) {
+            return completedAt > 0 && now - completedAt > ttlMillis;
+        }
+    }
+}
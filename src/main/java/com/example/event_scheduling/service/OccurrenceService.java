@@ -0,0 +1,220 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.dto.OccurrenceDTO;
+import com.example.event_scheduling.model.Event;
+import com.example.event_scheduling.model.OccurrenceOverride;
+import com.example.event_scheduling.model.Timeslot;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.recurrence.RecurrenceRule;
+import com.example.event_scheduling.repository.EventRepository;
+import com.example.event_scheduling.repository.OccurrenceOverrideRepository;
+import com.example.event_scheduling.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expands recurring events into occurrences for a requested window. The series' times come
+ * from its finalized timeslot, or the creator's initial timeslot until it is finalized.
+ * Nothing is materialized: each call expands only the window and applies the sparse
+ * {@link OccurrenceOverride} rows that touch it. Rules are evaluated on wall-clock times in the
+ * series' zone, as RFC 5545 does for a DTSTART with a TZID, so a 09:00 meeting stays at 09:00
+ * across daylight saving changes. Series without a zone repeat in UTC.
+ */
+@Component
+public class OccurrenceService {
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final OccurrenceOverrideRepository occurrenceOverrideRepository;
+    private final Logger logger = LoggerFactory.getLogger(OccurrenceService.class);
+
+    @Value("${events.recurrence.max-occurrences:1000}")
+    private int maxOccurrences = 1000;
+
+    @Autowired
+    public OccurrenceService(UserRepository userRepository,
+                             EventRepository eventRepository,
+                             OccurrenceOverrideRepository occurrenceOverrideRepository) {
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.occurrenceOverrideRepository = occurrenceOverrideRepository;
+    }
+
+    /** Occurrences overlapping [from, to), or null if the user may not see the event. */
+    @Transactional
+    public List<OccurrenceDTO> getOccurrences(Long userId, Long eventId, Instant from, Instant to) {
+        logger.info("User {} expanding occurrences of event {} from {} to {}", userId, eventId, from, to);
+        User user = userRepository.findById(userId).orElse(null);
+        Event event = eventRepository.findById(eventId).orElse(null);
+
+        if (user == null || event == null || from == null || to == null || !from.isBefore(to)) {
+            logger.info("Invalid userId ({})/eventId ({})/window ({} to {}), please check values.", userId, eventId, from, to);
+            return null;
+        }
+
+        if (!isMember(user, event)) {
+            logger.warn("Unaffiliated user trying to view occurrences, rejecting request");
+            return null;
+        }
+
+        Timeslot anchor = anchor(event);
+        if (anchor == null) return new ArrayList<OccurrenceDTO>();
+
+        Duration length = Duration.between(anchor.getStartTime(), anchor.getEndTime());
+        // an occurrence that starts before the window can still overlap it
+        Instant expandFrom = from.minus(length);
+
+        RecurrenceRule rule = event.getRecurrenceRule() == null ? null : RecurrenceRule.parse(event.getRecurrenceRule());
+        ZoneId zone = zone(event);
+        List<Instant> starts = rule == null
+                ? singleStart(anchor.getStartTime(), expandFrom, to)
+                : starts(rule, zone, anchor.getStartTime(), expandFrom, to, maxOccurrences);
+
+        Map<Instant, OccurrenceOverride> overrides = new HashMap<Instant, OccurrenceOverride>();
+        for (OccurrenceOverride o : occurrenceOverrideRepository.findInWindow(eventId, expandFrom, to)) {
+            overrides.put(o.getOriginalStart(), o);
+        }
+
+        List<OccurrenceDTO> occurrences = new ArrayList<OccurrenceDTO>(starts.size());
+        for (Instant start : starts) {
+            OccurrenceOverride o = overrides.remove(start);
+            if (o == null) {
+                Instant end = start.plus(length);
+                if (end.isAfter(from)) occurrences.add(new OccurrenceDTO(eventId, start, start, end, false));
+            } else {
+                addOverride(occurrences, o, from, to);
+            }
+        }
+
+        // occurrences moved into the window from outside it
+        for (OccurrenceOverride o : overrides.values()) {
+            if (rule != null && isOccurrence(rule, zone, anchor.getStartTime(), o.getOriginalStart())) {
+                addOverride(occurrences, o, from, to);
+            }
+        }
+
+        occurrences.sort(Comparator.comparing(OccurrenceDTO::startTime));
+        return occurrences;
+    }
+
+    /**
+     * Moves or cancels one occurrence of a recurring event. Only the creator may do this, and
+     * {@code originalStart} must be a start the rule produces.
+     */
+    @Transactional
+    public OccurrenceDTO overrideOccurrence(Long userId,
+                                           Long eventId,
+                                           Instant originalStart,
+                                           Instant startTime,
+                                           Instant endTime,
+                                           boolean cancel) {
+        logger.info("User {} {} occurrence {} of event {}", userId, cancel ? "cancelling" : "moving", originalStart, eventId);
+        User user = userRepository.findById(userId).orElse(null);
+        Event event = eventRepository.findById(eventId).orElse(null);
+
+        if (user == null || event == null || originalStart == null) {
+            logger.info("Invalid userId ({})/eventId ({})/originalStart ({}), please check values.", userId, eventId, originalStart);
+            return null;
+        }
+
+        if (user.getId().longValue() != event.getCreator().getId().longValue()) {
+            logger.warn("Only event creators are allowed to change occurrences.");
+            return null;
+        }
+
+        Timeslot anchor = anchor(event);
+        if (event.getRecurrenceRule() == null || anchor == null
+                || !isOccurrence(RecurrenceRule.parse(event.getRecurrenceRule()), zone(event), anchor.getStartTime(), originalStart)) {
+            logger.warn("{} is not an occurrence of event {}", originalStart, eventId);
+            return null;
+        }
+
+        if (!cancel && (startTime == null || endTime == null || !startTime.isBefore(endTime))) {
+            logger.error("Invalid startTime ({})/endTime ({})", startTime, endTime);
+            return null;
+        }
+
+        OccurrenceOverride o = occurrenceOverrideRepository.findByEventIdAndOriginalStart(eventId, originalStart);
+        if (o == null) o = new OccurrenceOverride(eventId, originalStart);
+        o.setCancelled(cancel);
+        o.setStartTime(cancel ? null : startTime);
+        o.setEndTime(cancel ? null : endTime);
+        occurrenceOverrideRepository.save(o);
+
+        return new OccurrenceDTO(eventId, originalStart, o.getStartTime(), o.getEndTime(), true);
+    }
+
+    private static void addOverride(List<OccurrenceDTO> occurrences, OccurrenceOverride o, Instant from, Instant to) {
+        if (o.isCancelled()) return;
+        if (o.getStartTime().isBefore(to) && o.getEndTime().isAfter(from)) {
+            occurrences.add(new OccurrenceDTO(o.getEventId(), o.getOriginalStart(), o.getStartTime(), o.getEndTime(), true));
+        }
+    }
+
+    private static List<Instant> singleStart(Instant start, Instant from, Instant to) {
+        return !start.isBefore(from) && start.isBefore(to) ? List.of(start) : List.of();
+    }
+
+    /**
+     * Occurrence starts in [from, to), at most {@code limit}. The rule runs on local times, and
+     * an offset change can move an occurrence to the other side of a window edge, so the local
+     * window is a day wider on each side and the instants are cut back to [from, to). The rules
+     * produce at most one occurrence a day, so two extra cover the padding.
+     */
+    private static List<Instant> starts(RecurrenceRule rule, ZoneId zone, Instant dtStart, Instant from, Instant to, int limit) {
+        List<Instant> starts = new ArrayList<Instant>();
+        List<LocalDateTime> local = rule.between(LocalDateTime.ofInstant(dtStart, zone),
+                LocalDateTime.ofInstant(from, zone).minusDays(1),
+                LocalDateTime.ofInstant(to, zone).plusDays(1),
+                limit + 2);
+        for (LocalDateTime t : local) {
+            // a start in a spring-forward gap moves later by the gap, one in an overlap takes the earlier offset
+            Instant start = t.atZone(zone).toInstant();
+            if (start.isBefore(from) || !start.isBefore(to)) continue;
+            starts.add(start);
+            if (starts.size() >= limit) break;
+        }
+        return starts;
+    }
+
+    private static boolean isOccurrence(RecurrenceRule rule, ZoneId zone, Instant dtStart, Instant start) {
+        return !starts(rule, zone, dtStart, start, start.plusNanos(1), 1).isEmpty();
+    }
+
+    private static ZoneId zone(Event event) {
+        return event.getRecurrenceZone() == null ? ZoneOffset.UTC : ZoneId.of(event.getRecurrenceZone());
+    }
+
+    private static boolean isMember(User user, Event event) {
+        if (user.getId().longValue() == event.getCreator().getId().longValue()) return true;
+        for (User u : event.getUsers()) {
+            if (u.getId().longValue() == user.getId().longValue()) return true;
+        }
+        return false;
+    }
+
+    // the finalized timeslot, or the first one proposed, which is the creator's initial timeslot
+    private static Timeslot anchor(Event event) {
+        Timeslot anchor = null;
+        for (Timeslot t : event.getTimeslots()) {
+            if (t.isFinalized()) return t;
+            if (anchor == null || t.getId() < anchor.getId()) anchor = t;
+        }
+        return anchor;
+    }
+}
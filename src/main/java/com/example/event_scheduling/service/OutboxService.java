@@ -0,0 +1,40 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.model.DomainEventType;
+import com.example.event_scheduling.model.OutboxEvent;
+import com.example.event_scheduling.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Writes domain events to the outbox table. Callers must already be in the transaction that
+ * makes the change, so the event is stored if and only if the change commits.
+ */
+@Component
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void record(Long eventId, DomainEventType type, Map<String, Object> details) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable outbox payload for event " + eventId, e);
+        }
+        outboxEventRepository.save(new OutboxEvent(eventId, type, payload, LocalDateTime.now(ZoneOffset.UTC)));
+    }
+}
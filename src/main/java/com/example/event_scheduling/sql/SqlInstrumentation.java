@@ -0,0 +1,259 @@
+package com.example.event_scheduling.sql;
+
+import com.example.event_scheduling.utils.RingBuffer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-transaction SQL accounting. The pooled {@link DataSource} is wrapped with datasource-proxy
+ * (see {@link SqlInstrumentationConfig}) and reports every connection checkout and statement here;
+ * the transaction manager reports where each transaction begins and ends. For every transaction
+ * we record how long it waited for a connection, how many statements it ran and how long they
+ * took, so a slow call can be told apart as pool-bound or SQL-bound.
+ * <p>
+ * A statement run {@code sql.repeated-statement.threshold} or more times in one transaction is
+ * flagged as a likely N+1, and any statement slower than {@code sql.slow-query.threshold} is kept,
+ * with its bind parameters only if {@code sql.slow-query.include-parameters} is set since they carry
+ * emails and password hashes. Both are kept in ring buffers read by {@link SqlStatsEndpoint}.
+ */
+@Component
+@ConditionalOnProperty(name = "sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentation implements QueryExecutionListener, MethodExecutionListener, TransactionExecutionListener {
+
+    private static final String STARTED_AT = "sqlInstrumentation.startedAt";
+    private static final int MAX_BATCH_PARAMETERS = 10;
+    private static final int MAX_PARAMETER_LENGTH = 200;
+    // parameter indexes as strings, so "10" has to sort after "9"
+    private static final Comparator<String> PARAMETER_ORDER =
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final int repeatThreshold;
+    private final boolean includeParameters;
+    private final RingBuffer<SlowQuery> slowQueries;
+    private final RingBuffer<RepeatedStatement> repeatedStatements;
+    // a stack, REQUIRES_NEW suspends the outer transaction on the same thread
+    private final ThreadLocal<Deque<TransactionStats>> transactions = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Logger logger = LoggerFactory.getLogger(SqlInstrumentation.class);
+
+    public record SlowQuery(Instant at, String transaction, String sql, List<List<String>> parameters, double elapsedMillis) {}
+
+    public record RepeatedStatement(Instant at, String transaction, String sql, int executions) {}
+
+    @Autowired
+    public SqlInstrumentation(MeterRegistry meterRegistry,
+                              @Value("${sql.slow-query.threshold:PT0.1S}") Duration slowQueryThreshold,
+                              @Value("${sql.slow-query.capacity:100}") int capacity,
+                              @Value("${sql.slow-query.include-parameters:false}") boolean includeParameters,
+                              @Value("${sql.repeated-statement.threshold:10}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.repeatThreshold = repeatThreshold;
+        this.includeParameters = includeParameters;
+        this.slowQueries = new RingBuffer<SlowQuery>(capacity);
+        this.repeatedStatements = new RingBuffer<RepeatedStatement>(capacity);
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueries.snapshot();
+    }
+
+    public List<RepeatedStatement> getRepeatedStatements() {
+        return repeatedStatements.snapshot();
+    }
+
+    public void clear() {
+        slowQueries.clear();
+        repeatedStatements.clear();
+    }
+
+    // transaction boundaries
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        if (!transaction.isNewTransaction()) return;
+        transactions.get().push(new TransactionStats(shortName(transaction.getTransactionName())));
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null && transaction.isNewTransaction()) {
+            pop();
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (!transaction.isNewTransaction()) return;
+        finish(pop(), commitFailure == null ? "commit" : "failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        if (!transaction.isNewTransaction()) return;
+        finish(pop(), "rollback");
+    }
+
+    // connection checkout, the only DataSource method we care about
+
+    @Override
+    public void beforeMethod(MethodExecutionContext context) {
+        if (isConnectionCheckout(context)) {
+            context.addCustomValue(STARTED_AT, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext context) {
+        if (!isConnectionCheckout(context)) return;
+        Long startedAt = context.getCustomValue(STARTED_AT, Long.class);
+        TransactionStats stats = transactions.get().peek();
+        if (startedAt != null && stats != null) {
+            stats.acquireNanos += System.nanoTime() - startedAt;
+        }
+    }
+
+    // statements
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        long elapsed = startedAt == null ? 0 : System.nanoTime() - startedAt;
+        TransactionStats stats = transactions.get().peek();
+
+        if (stats != null) {
+            stats.sqlNanos += elapsed;
+            for (QueryInfo query : queryInfoList) {
+                stats.statements++;
+                stats.executions.merge(query.getQuery(), 1, Integer::sum);
+            }
+        }
+
+        if (elapsed >= slowQueryNanos) {
+            String transaction = stats == null ? null : stats.name;
+            double elapsedMillis = elapsed / 1_000_000.0;
+            for (QueryInfo query : queryInfoList) {
+                List<List<String>> parameters = includeParameters ? parameters(query) : List.of();
+                slowQueries.add(new SlowQuery(Instant.now(), transaction, query.getQuery(), parameters, elapsedMillis));
+                logger.warn("Slow query ({} ms) in {}: {} {}", String.format("%.1f", elapsedMillis), transaction,
+                        query.getQuery(), parameters);
+            }
+        }
+    }
+
+    private void finish(TransactionStats stats, String outcome) {
+        if (stats == null) return;
+
+        Timer.builder("sql.transaction.connection.acquire")
+                .description("Time a transaction waited for a pooled connection")
+                .tags("transaction", stats.name, "outcome", outcome)
+                .register(meterRegistry)
+                .record(stats.acquireNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("sql.transaction.query.time")
+                .description("Time a transaction spent executing statements")
+                .tags("transaction", stats.name, "outcome", outcome)
+                .register(meterRegistry)
+                .record(stats.sqlNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("sql.transaction.statements")
+                .description("Statements executed per transaction")
+                .tags("transaction", stats.name, "outcome", outcome)
+                .register(meterRegistry)
+                .record(stats.statements);
+
+        for (Map.Entry<String, Integer> entry : stats.executions.entrySet()) {
+            if (entry.getValue() < repeatThreshold) continue;
+            repeatedStatements.add(new RepeatedStatement(Instant.now(), stats.name, entry.getKey(), entry.getValue()));
+            meterRegistry.counter("sql.transaction.repeated-statements", "transaction", stats.name).increment();
+            logger.warn("Possible N+1 in {}: {} executions of {}", stats.name, entry.getValue(), entry.getKey());
+        }
+
+        logger.debug("Transaction {} {}: {} statements, {} us waiting for a connection, {} us in SQL",
+                stats.name, outcome, stats.statements, stats.acquireNanos / 1000, stats.sqlNanos / 1000);
+    }
+
+    private TransactionStats pop() {
+        Deque<TransactionStats> stack = transactions.get();
+        TransactionStats stats = stack.poll();
+        if (stack.isEmpty()) transactions.remove();
+        return stats;
+    }
+
+    private static boolean isConnectionCheckout(MethodExecutionContext context) {
+        return context.getTarget() instanceof DataSource && "getConnection".equals(context.getMethod().getName());
+    }
+
+    private static List<List<String>> parameters(QueryInfo query) {
+        List<List<ParameterSetOperation>> batches = query.getParametersList();
+        int count = Math.min(batches.size(), MAX_BATCH_PARAMETERS);
+        List<List<String>> result = new ArrayList<List<String>>(count);
+        for (int i = 0; i < count; i++) {
+            List<ParameterSetOperation> operations = new ArrayList<ParameterSetOperation>(batches.get(i));
+            operations.sort(Comparator.comparing(op -> String.valueOf(op.getArgs()[0]), PARAMETER_ORDER));
+            List<String> values = new ArrayList<String>(operations.size());
+            for (ParameterSetOperation op : operations) {
+                values.add(ParameterSetOperation.isSetNullParameterOperation(op) ? "null" : format(op.getArgs()[1]));
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+    private static String format(Object value) {
+        if (value instanceof byte[] bytes) return "<" + bytes.length + " bytes>";
+        String text = String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+
+    /** Reduces {@code com.example.Foo.bar} to {@code Foo.bar} to keep metric tags short. */
+    static String shortName(String transactionName) {
+        if (transactionName == null || transactionName.isEmpty()) return "unnamed";
+        int method = transactionName.lastIndexOf('.');
+        int type = method > 0 ? transactionName.lastIndexOf('.', method - 1) : -1;
+        return transactionName.substring(type + 1);
+    }
+
+    private static final class TransactionStats {
+        private final String name;
+        private final Map<String, Integer> executions = new HashMap<String, Integer>();
+        private long acquireNanos;
+        private long sqlNanos;
+        private int statements;
+
+        private TransactionStats(String name) {
+            this.name = name;
+        }
+    }
+}
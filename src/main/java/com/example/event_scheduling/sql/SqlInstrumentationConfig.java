@@ -0,0 +1,76 @@
+package com.example.event_scheduling.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the application's {@link DataSource} with datasource-proxy so connection checkouts and
+ * statements reach {@link SqlInstrumentation}. The instrumentation is looked up on first use
+ * rather than when the pool is created, so wrapping the pool does not pull the meter registry
+ * forward in startup order.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    static BeanPostProcessor instrumentedDataSource(ObjectProvider<SqlInstrumentation> instrumentation) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) return bean;
+
+                DeferredListener listener = new DeferredListener(SingletonSupplier.of(instrumentation::getObject));
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .build();
+            }
+        };
+    }
+
+    private static final class DeferredListener implements QueryExecutionListener, MethodExecutionListener {
+
+        private final Supplier<SqlInstrumentation> instrumentation;
+
+        private DeferredListener(Supplier<SqlInstrumentation> instrumentation) {
+            this.instrumentation = instrumentation;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            instrumentation.get().beforeQuery(execInfo, queryInfoList);
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            instrumentation.get().afterQuery(execInfo, queryInfoList);
+        }
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+            instrumentation.get().beforeMethod(executionContext);
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            instrumentation.get().afterMethod(executionContext);
+        }
+    }
+}
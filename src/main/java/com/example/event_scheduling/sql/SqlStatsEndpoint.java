@@ -0,0 +1,43 @@
+package com.example.event_scheduling.sql;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/sqlstats}: the most recent slow statements and the statements
+ * {@link SqlInstrumentation} flagged as repeated within one transaction. A DELETE clears both, e.g.
+ * before reproducing a problem. Per-transaction timings are Micrometer metrics under
+ * {@code sql.transaction.*}. Not exposed over HTTP unless added to
+ * {@code management.endpoints.web.exposure.include}, since any signed-up user could reach it.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@ConditionalOnProperty(name = "sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsEndpoint {
+
+    private final SqlInstrumentation instrumentation;
+
+    public record SqlStats(List<SqlInstrumentation.SlowQuery> slowQueries,
+                           List<SqlInstrumentation.RepeatedStatement> repeatedStatements) {}
+
+    @Autowired
+    public SqlStatsEndpoint(SqlInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    @ReadOperation
+    public SqlStats sqlStats() {
+        return new SqlStats(instrumentation.getSlowQueries(), instrumentation.getRepeatedStatements());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        instrumentation.clear();
+    }
+}
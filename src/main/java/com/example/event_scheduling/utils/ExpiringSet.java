@@ -0,0 +1,74 @@
+package com.example.event_scheduling.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrent set whose members expire at a given time. At most {@code maxSize} members are
+ * kept; when full, expired members are purged first and new members are dropped if that
+ * does not free any room.
+ */
+public class ExpiringSet<T> {
+
+    public enum AddResult { ADDED, PRESENT, FULL }
+
+    private final ConcurrentHashMap<T, Long> expiries = new ConcurrentHashMap<T, Long>();
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    public ExpiringSet(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    public ExpiringSet(int maxSize, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Adds {@code value} until {@code expiresAtMillis}. Returns {@link AddResult#ADDED} to exactly
+     * one of several concurrent callers adding the same value, {@link AddResult#PRESENT} if it was
+     * already a live member (its expiry is extended), and {@link AddResult#FULL} if there was no room.
+     */
+    public AddResult add(T value, long expiresAtMillis) {
+        if (expiries.size() >= maxSize && !expiries.containsKey(value)) {
+            purge();
+            if (expiries.size() >= maxSize) return AddResult.FULL;
+        }
+        long now = clock.getAsLong();
+        boolean[] added = new boolean[1];
+        expiries.compute(value, (key, expiresAt) -> {
+            if (expiresAt == null || expiresAt <= now) {
+                added[0] = true;
+                return expiresAtMillis;
+            }
+            return Math.max(expiresAt, expiresAtMillis);
+        });
+        return added[0] ? AddResult.ADDED : AddResult.PRESENT;
+    }
+
+    public boolean contains(T value) {
+        Long expiresAt = expiries.get(value);
+        if (expiresAt == null) return false;
+        if (expiresAt <= clock.getAsLong()) {
+            expiries.remove(value, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    public void remove(T value) {
+        expiries.remove(value);
+    }
+
+    public int purge() {
+        long now = clock.getAsLong();
+        int before = expiries.size();
+        expiries.values().removeIf(expiresAt -> expiresAt <= now);
+        return before - expiries.size();
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+}
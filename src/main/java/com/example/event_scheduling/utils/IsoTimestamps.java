@@ -0,0 +1,117 @@
+package com.example.event_scheduling.utils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneRules;
+
+/**
+ * Parses the ISO-8601 timestamps clients send into instants. The common shape,
+ * {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]} with an optional {@code Z} or {@code ±hh:mm}
+ * offset, is read digit by digit without building a parser context. Anything else goes
+ * through {@link DateTimeFormatter#ISO_DATE_TIME}. Timestamps without an offset are local
+ * times in {@code zone}.
+ */
+public final class IsoTimestamps {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private IsoTimestamps() {}
+
+    public static Instant parse(String text, ZoneId zone) {
+        Instant fast = parseFast(text, zone);
+        return fast != null ? fast : parseSlow(text, zone);
+    }
+
+    // null when the text is not in the common shape, the slow path then decides if it is valid
+    private static Instant parseFast(String s, ZoneId zone) {
+        int n = s.length();
+        if (n < 16 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T' || s.charAt(13) != ':') return null;
+
+        int year = digits(s, 0, 4), month = digits(s, 5, 2), day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2), minute = digits(s, 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) return null;
+
+        int i = 16, second = 0, nanos = 0;
+        if (i < n && s.charAt(i) == ':') {
+            second = digits(s, i + 1, 2);
+            if (second < 0 || second > 59) return null;
+            i += 3;
+            if (i < n && s.charAt(i) == '.') {
+                int start = ++i;
+                while (i < n && i - start < 9 && isDigit(s.charAt(i))) {
+                    nanos = nanos * 10 + (s.charAt(i) - '0');
+                    i++;
+                }
+                if (i == start) return null;
+                for (int k = i - start; k < 9; k++) nanos *= 10;
+            }
+        }
+
+        long localSeconds = epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+        if (i == n) {
+            if (zone instanceof ZoneOffset offset) return Instant.ofEpochSecond(localSeconds - offset.getTotalSeconds(), nanos);
+            ZoneRules rules = zone.getRules();
+            if (rules.isFixedOffset()) return Instant.ofEpochSecond(localSeconds - rules.getOffset(Instant.EPOCH).getTotalSeconds(), nanos);
+            // gaps and overlaps follow ZonedDateTime: later offset in a gap, earlier in an overlap
+            return LocalDateTime.of(year, month, day, hour, minute, second, nanos).atZone(zone).toInstant();
+        }
+
+        int offsetSeconds;
+        char c = s.charAt(i);
+        if (c == 'Z' && i + 1 == n) {
+            offsetSeconds = 0;
+        } else if ((c == '+' || c == '-') && i + 6 == n && s.charAt(i + 3) == ':') {
+            int oh = digits(s, i + 1, 2), om = digits(s, i + 4, 2);
+            if (oh < 0 || oh > 18 || om < 0 || om > 59) return null;
+            offsetSeconds = (oh * 3600 + om * 60) * (c == '-' ? -1 : 1);
+        } else {
+            return null;
+        }
+        return Instant.ofEpochSecond(localSeconds - offsetSeconds, nanos);
+    }
+
+    private static Instant parseSlow(String text, ZoneId zone) {
+        TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(text, ZonedDateTime::from, LocalDateTime::from);
+        if (parsed instanceof ZonedDateTime zoned) return zoned.toInstant();
+        return ((LocalDateTime) parsed).atZone(zone).toInstant();
+    }
+
+    private static int digits(String s, int from, int count) {
+        if (from + count > s.length()) return -1;
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    // days since 1970-01-01 for a proleptic Gregorian date
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+}
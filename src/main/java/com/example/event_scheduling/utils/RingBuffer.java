@@ -0,0 +1,39 @@
+package com.example.event_scheduling.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Keeps the last {@code capacity} values added, dropping the oldest once full.
+ */
+public class RingBuffer<T> {
+
+    private final ArrayDeque<T> values;
+    private final int capacity;
+
+    public RingBuffer(int capacity) {
+        this.capacity = capacity;
+        this.values = new ArrayDeque<T>(capacity);
+    }
+
+    public synchronized void add(T value) {
+        if (capacity <= 0) return;
+        if (values.size() == capacity) values.removeFirst();
+        values.addLast(value);
+    }
+
+    /** Returns a copy of the buffer, newest first. */
+    public synchronized List<T> snapshot() {
+        List<T> copy = new ArrayList<T>(values.size());
+        for (Iterator<T> it = values.descendingIterator(); it.hasNext(); ) {
+            copy.add(it.next());
+        }
+        return copy;
+    }
+
+    public synchronized void clear() {
+        values.clear();
+    }
+}
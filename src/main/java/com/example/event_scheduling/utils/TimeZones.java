@@ -0,0 +1,47 @@
+package com.example.event_scheduling.utils;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zone lookups for client supplied zone ids, and the zone of the request being served.
+ * {@link ZoneId#of} re-parses the id and builds a new instance on every call; ids are
+ * cached here after the first successful lookup, up to {@value #MAX_CACHED} of them so
+ * arbitrary offset strings cannot grow the map without bound.
+ */
+public final class TimeZones {
+
+    public static final String HEADER = "X-Time-Zone";
+
+    private static final int MAX_CACHED = 1024;
+    private static final ConcurrentHashMap<String, ZoneId> ZONES = new ConcurrentHashMap<String, ZoneId>();
+    private static final ThreadLocal<ZoneId> REQUEST_ZONE = new ThreadLocal<ZoneId>();
+
+    private TimeZones() {}
+
+    /** The zone for {@code id}, such as {@code Europe/Berlin} or {@code +02:00}. */
+    public static ZoneId of(String id) throws DateTimeException {
+        ZoneId zone = ZONES.get(id);
+        if (zone != null) return zone;
+
+        zone = ZoneId.of(id);
+        if (ZONES.size() < MAX_CACHED) ZONES.putIfAbsent(id, zone);
+        return zone;
+    }
+
+    /** The zone of the current request, UTC outside requests or when the client sent none. */
+    public static ZoneId current() {
+        ZoneId zone = REQUEST_ZONE.get();
+        return zone != null ? zone : ZoneOffset.UTC;
+    }
+
+    public static void setCurrent(ZoneId zone) {
+        REQUEST_ZONE.set(zone);
+    }
+
+    public static void clearCurrent() {
+        REQUEST_ZONE.remove();
+    }
+}
@@ -1,21 +1,16 @@
 package com.example.event_scheduling.utils;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Instant;
 
 public class Utils {
 
     public Utils() {}
 
-    public static LocalDateTime getUTCDate(String dateString) {
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-        LocalDateTime localDateTime = LocalDateTime.parse(dateString, formatter);
-
-        ZonedDateTime localZoned = localDateTime.atZone(ZoneId.systemDefault());
-        ZonedDateTime utcZoned = localZoned.withZoneSameInstant(ZoneId.of("UTC"));
-
-        return utcZoned.toLocalDateTime();
+    /**
+     * Parses an ISO-8601 timestamp from a request. Timestamps without an offset are read in
+     * the request's zone ({@value TimeZones#HEADER} header), UTC if none was sent.
+     */
+    public static Instant getInstant(String dateString) {
+        return IsoTimestamps.parse(dateString, TimeZones.current());
     }
 }
@@ -0,0 +1,2 @@
+-- SHA-256 of the secret in each user's calendar subscription URL, null until one is issued
+alter table users add column calendar_token_hash varchar(64);
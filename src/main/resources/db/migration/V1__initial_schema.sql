@@ -0,0 +1,44 @@
+create table users (
+    id bigint generated by default as identity primary key,
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255)
+);
+
+create table events (
+    id bigint generated by default as identity primary key,
+    creator_id bigint not null references users (id),
+    title varchar(255),
+    description varchar(255),
+    finalized boolean not null,
+    required_votes integer
+);
+
+create table user_event (
+    user_id bigint not null references users (id),
+    event_id bigint not null references events (id)
+);
+
+create table timeslots (
+    id bigint generated by default as identity primary key,
+    event_id bigint not null references events (id),
+    creator_id bigint not null references users (id),
+    start_time timestamp(6),
+    end_time timestamp(6),
+    finalized boolean not null
+);
+
+create table votes (
+    id bigint generated by default as identity primary key,
+    user_id bigint not null references users (id),
+    timeslot_id bigint not null references timeslots (id)
+);
+
+create unique index idx_users_email on users (email);
+create index idx_user_event_user on user_event (user_id);
+create index idx_user_event_event on user_event (event_id);
+create index idx_timeslots_event_range on timeslots (event_id, start_time, end_time);
+create index idx_timeslots_creator_event on timeslots (creator_id, event_id);
+create index idx_votes_timeslot on votes (timeslot_id);
+create index idx_votes_user_timeslot on votes (user_id, timeslot_id);
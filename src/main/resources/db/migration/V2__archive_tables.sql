@@ -0,0 +1,27 @@
+create table archived_events (
+    id bigint not null primary key,
+    creator_id bigint not null,
+    title varchar(255),
+    description varchar(255),
+    required_votes integer,
+    archived_at timestamp(6)
+);
+
+create table archived_event_users (
+    event_id bigint not null references archived_events (id),
+    user_id bigint not null
+);
+
+create table archived_timeslots (
+    event_id bigint not null references archived_events (id),
+    timeslot_id bigint not null,
+    creator_id bigint not null,
+    start_time timestamp(6),
+    end_time timestamp(6),
+    finalized boolean not null,
+    votes clob
+);
+
+create index idx_archived_event_users_user on archived_event_users (user_id);
+create index idx_archived_timeslots_event on archived_timeslots (event_id);
+create index idx_timeslots_finalized_end on timeslots (finalized, end_time);
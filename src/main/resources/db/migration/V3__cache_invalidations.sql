@@ -0,0 +1,10 @@
+create table cache_invalidations (
+    id bigint generated by default as identity primary key,
+    region varchar(64) not null,
+    cache_key varchar(255) not null,
+    version bigint not null,
+    origin varchar(64) not null,
+    created_at timestamp(6) not null
+);
+
+create index idx_cache_invalidations_created on cache_invalidations (created_at);
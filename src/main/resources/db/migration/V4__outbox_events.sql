@@ -0,0 +1,7 @@
+create table outbox_events (
+    id bigint generated by default as identity primary key,
+    event_id bigint not null,
+    type varchar(32) not null,
+    payload clob not null,
+    created_at timestamp(6) not null
+);
@@ -0,0 +1,12 @@
+alter table events add column recurrence_rule varchar(255);
+alter table archived_events add column recurrence_rule varchar(255);
+
+create table occurrence_overrides (
+    id bigint generated by default as identity primary key,
+    event_id bigint not null,
+    original_start timestamp(6) not null,
+    start_time timestamp(6),
+    end_time timestamp(6),
+    cancelled boolean not null,
+    constraint uk_occurrence_overrides_event_start unique (event_id, original_start)
+);
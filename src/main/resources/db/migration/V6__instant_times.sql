@@ -0,0 +1,15 @@
+-- event times become instants; existing values were written as UTC wall-clock times, so
+-- convert them in a UTC session rather than whatever zone the server runs in
+set time zone 'UTC';
+
+alter table timeslots alter column start_time set data type timestamp(6) with time zone;
+alter table timeslots alter column end_time set data type timestamp(6) with time zone;
+
+alter table archived_timeslots alter column start_time set data type timestamp(6) with time zone;
+alter table archived_timeslots alter column end_time set data type timestamp(6) with time zone;
+
+alter table occurrence_overrides alter column original_start set data type timestamp(6) with time zone;
+alter table occurrence_overrides alter column start_time set data type timestamp(6) with time zone;
+alter table occurrence_overrides alter column end_time set data type timestamp(6) with time zone;
+
+set time zone local;
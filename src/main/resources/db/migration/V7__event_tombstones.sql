@@ -0,0 +1,4 @@
+-- deleted events are tombstoned first and purged in the background
+alter table events add column deleted_at timestamp(6) with time zone;
+
+create index idx_events_deleted_at on events (deleted_at);
@@ -0,0 +1,7 @@
+-- revoked token ids outlive restarts, rows go once the token would have expired anyway
+create table revoked_tokens (
+    token_id varchar(64) primary key,
+    expires_at timestamp(6) with time zone not null
+);
+
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
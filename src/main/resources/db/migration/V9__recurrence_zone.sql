@@ -0,0 +1,3 @@
+-- recurring series repeat at the same wall-clock time in this zone, null is UTC
+alter table events add column recurrence_zone varchar(255);
+alter table archived_events add column recurrence_zone varchar(255);
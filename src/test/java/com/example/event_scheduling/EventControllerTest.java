@@ -3,16 +3,29 @@ package com.example.event_scheduling;
 import com.example.event_scheduling.controller.EventController;
 import com.example.event_scheduling.dto.CreateEventRequest;
 import com.example.event_scheduling.dto.EventDTO;
+import com.example.event_scheduling.dto.EventDeletionDTO;
+import com.example.event_scheduling.security.AuthenticatedUser;
+import com.example.event_scheduling.service.EventPurgeService;
 import com.example.event_scheduling.service.EventService;
+import com.example.event_scheduling.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -25,18 +38,40 @@ public class EventControllerTest {
     @Mock
     private EventService eventService;
 
+    @Mock
+    private EventPurgeService eventPurgeService;
+
+    @Spy
+    private IdempotencyService idempotencyService = new IdempotencyService(Duration.ofHours(1), 100);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private EventController eventController;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(eventController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(eventController)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void signIn(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
     }
 
     @Test
     void testGetEvents_Success() throws Exception {
-        List<EventDTO> events = List.of(new EventDTO(1L, "Event 1", "Description", false, 5, 1L, new ArrayList<>()));
+        List<EventDTO> events = List.of(new EventDTO(1L, "Event 1", "Description", false, 5, 1L, new ArrayList<>(), null, null));
         when(eventService.getEvents(anyLong())).thenReturn(events);
 
         mockMvc.perform(get("/events/getEvents")
@@ -58,9 +93,9 @@ public class EventControllerTest {
 
     @Test
     void testCreateEvent_Success() throws Exception {
-        CreateEventRequest request = new CreateEventRequest(1L, "Event Title", "Event Description", 5, "2025-05-05T00:00:00", "2025-05-06T00:00:00");
-        EventDTO eventDTO = new EventDTO(1L, "Event Title", "Description", false, 5, 1L, new ArrayList<>());
-        when(eventService.createEvent(eq(1L), eq("Event Title"), eq("Event Description"), any(), any(), eq(5)))
+        CreateEventRequest request = new CreateEventRequest(1L, "Event Title", "Event Description", 5, "2025-05-05T00:00:00", "2025-05-06T00:00:00", null, null);
+        EventDTO eventDTO = new EventDTO(1L, "Event Title", "Description", false, 5, 1L, new ArrayList<>(), null, null);
+        when(eventService.createEvent(eq(1L), eq("Event Title"), eq("Event Description"), any(), any(), eq(5), isNull(), isNull()))
                 .thenReturn(eventDTO);
 
         mockMvc.perform(post("/events/create")
@@ -73,8 +108,8 @@ public class EventControllerTest {
 
     @Test
     void testCreateEvent_Failure() throws Exception {
-        CreateEventRequest request = new CreateEventRequest(1L, "Event Title", "Event Description", 5, "2025-05-05T00:00:00", "2025-05-06T00:00:00");
-        when(eventService.createEvent(eq(1L), eq("Event Title"), eq("Event Description"), any(), any(), eq(5)))
+        CreateEventRequest request = new CreateEventRequest(1L, "Event Title", "Event Description", 5, "2025-05-05T00:00:00", "2025-05-06T00:00:00", null, null);
+        when(eventService.createEvent(eq(1L), eq("Event Title"), eq("Event Description"), any(), any(), eq(5), isNull(), isNull()))
                 .thenThrow(new RuntimeException("Event creation failed"));
 
         mockMvc.perform(post("/events/create")
@@ -84,9 +119,77 @@ public class EventControllerTest {
                 .andExpect(jsonPath("$.message").value("java.lang.RuntimeException: Event creation failed"));
     }
 
+    @Test
+    void testCreateEvent_IdempotentRetry() throws Exception {
+        EventDTO eventDTO = new EventDTO(1L, "Event Title", "Description", false, 5, 1L, new ArrayList<>(), null, null);
+        when(eventService.createEvent(eq(1L), eq("Event Title"), eq("Event Description"), any(), any(), eq(5), isNull(), isNull()))
+                .thenReturn(eventDTO);
+        String body = "{\"creatorId\": 1, \"title\": \"Event Title\", \"description\": \"Event Description\", \"startDate\": \"2025-05-05T00:00:00\", \"endDate\": \"2025-05-06T00:00:00\", \"requiredVotes\": 5}";
+
+        mockMvc.perform(post("/events/create")
+                        .header(IdempotencyService.HEADER, "retry-1")
+                        .contentType("application/json")
+                        .content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/events/create")
+                        .header(IdempotencyService.HEADER, "retry-1")
+                        .contentType("application/json")
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.data.title").value("Event Title"));
+
+        verify(eventService, times(1)).createEvent(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testVote_IdempotencyKeyReusedForDifferentRequest() throws Exception {
+        EventDTO eventDTO = new EventDTO(1L, "Event Title", "Description", false, 5, 1L, new ArrayList<>(), null, null);
+        when(eventService.checkEventFinalized(anyLong())).thenReturn(true);
+        when(eventService.vote(anyLong(), anyLong(), anyLong(), anyBoolean())).thenReturn(eventDTO);
+
+        mockMvc.perform(post("/events/vote")
+                        .header(IdempotencyService.HEADER, "vote-1")
+                        .param("userId", "2")
+                        .param("eventId", "1")
+                        .param("timeslotId", "1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/events/vote")
+                        .header(IdempotencyService.HEADER, "vote-1")
+                        .param("userId", "2")
+                        .param("eventId", "1")
+                        .param("timeslotId", "2"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(eventService, times(1)).vote(anyLong(), anyLong(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    void testVote_FailedRequestIsNotReplayed() throws Exception {
+        EventDTO eventDTO = new EventDTO(1L, "Event Title", "Description", false, 5, 1L, new ArrayList<>(), null, null);
+        when(eventService.checkEventFinalized(anyLong())).thenReturn(true);
+        when(eventService.vote(anyLong(), anyLong(), anyLong(), anyBoolean())).thenReturn(null, eventDTO);
+
+        mockMvc.perform(post("/events/vote")
+                        .header(IdempotencyService.HEADER, "vote-2")
+                        .param("userId", "2")
+                        .param("eventId", "1")
+                        .param("timeslotId", "1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/events/vote")
+                        .header(IdempotencyService.HEADER, "vote-2")
+                        .param("userId", "2")
+                        .param("eventId", "1")
+                        .param("timeslotId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER));
+
+        verify(eventService, times(2)).vote(anyLong(), anyLong(), anyLong(), anyBoolean());
+    }
+
     @Test
     void testInvite_Success() throws Exception {
-        EventDTO eventDTO = new EventDTO(1L, "Event Title", "Description", false, 5, 1L, new ArrayList<>());
+        EventDTO eventDTO = new EventDTO(1L, "Event Title", "Description", false, 5, 1L, new ArrayList<>(), null, null);
         when(eventService.inviteToEvent(anyLong(), anyLong(), anyLong())).thenReturn(eventDTO);
 
         mockMvc.perform(post("/events/invite")
@@ -112,7 +215,7 @@ public class EventControllerTest {
 
     @Test
     void testFinalizeEvent_Success() throws Exception {
-        EventDTO finalizedEvent = new EventDTO(1L, "Event Title", "Description", false, 5, 1L, new ArrayList<>());
+        EventDTO finalizedEvent = new EventDTO(1L, "Event Title", "Description", false, 5, 1L, new ArrayList<>(), null, null);
         when(eventService.finalizeEvent(anyLong(), anyLong(), anyBoolean())).thenReturn(finalizedEvent);
 
         mockMvc.perform(post("/events/finalizeEvent")
@@ -135,5 +238,97 @@ public class EventControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("java.lang.RuntimeException: Unable to finalize event"));
     }
-}
 
+    @Test
+    void testDeleteEvent_Accepted() throws Exception {
+        signIn(1L);
+        when(eventService.deleteEvent(1L, 1L)).thenReturn("Successfully deleted event");
+        when(eventPurgeService.getProgress(1L, 1L))
+                .thenReturn(new EventDeletionDTO(1L, EventPurgeService.PENDING, 0L, 0L, 0L, 40L, 4L, 3L));
+
+        mockMvc.perform(delete("/events/1"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.status").value("PENDING"))
+                .andExpect(jsonPath("$.data.votesRemaining").value(40));
+    }
+
+    @Test
+    void testDeleteEvent_NotCreator() throws Exception {
+        signIn(2L);
+        when(eventService.deleteEvent(1L, 2L)).thenReturn(null);
+
+        // a userId parameter naming the creator must not matter
+        mockMvc.perform(delete("/events/1")
+                        .param("userId", "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("java.lang.Exception: Unable to delete event"));
+
+        verify(eventService).deleteEvent(1L, 2L);
+        verifyNoInteractions(eventPurgeService);
+    }
+
+    @Test
+    void testDeleteEvent_SignedOut() throws Exception {
+        mockMvc.perform(delete("/events/1"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(eventService, eventPurgeService);
+    }
+
+    @Test
+    void testGetVotes_StreamsWhenJsonIsPreferred() throws Exception {
+        when(eventService.countVisibleVotes(1L, 2L, null)).thenReturn(5L);
+        doAnswer(invocation -> {
+            JsonGenerator gen = invocation.getArgument(2);
+            gen.writeStartArray();
+            gen.writeEndArray();
+            return null;
+        }).when(eventService).writeVotes(eq(2L), isNull(), any(JsonGenerator.class));
+
+        mockMvc.perform(get("/events/getVotes")
+                        .param("userId", "1")
+                        .param("eventId", "2")
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Success"))
+                .andExpect(jsonPath("$.data").isEmpty());
+
+        verify(eventService, never()).getVotes(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testGetVotes_LowQualityWildcardDoesNotStream() throws Exception {
+        when(eventService.countVisibleVotes(1L, 2L, null)).thenReturn(5L);
+        when(eventService.getVotes(1L, 2L, null)).thenReturn(List.of());
+
+        // CBOR is preferred, */* only makes JSON acceptable
+        mockMvc.perform(get("/events/getVotes")
+                .param("userId", "1")
+                .param("eventId", "2")
+                .header(HttpHeaders.ACCEPT, "application/cbor, */*;q=0.1"));
+
+        verify(eventService).getVotes(1L, 2L, null);
+        verify(eventService, never()).writeVotes(anyLong(), any(), any(JsonGenerator.class));
+    }
+
+    @Test
+    void testGetVotes_FailureAfterStreamingStartedIsNotAnErrorEntity() throws Exception {
+        when(eventService.countVisibleVotes(1L, 2L, null)).thenReturn(5L);
+        doAnswer(invocation -> {
+            JsonGenerator gen = invocation.getArgument(2);
+            gen.writeStartArray();
+            gen.flush();
+            throw new IllegalStateException("vote cursor closed");
+        }).when(eventService).writeVotes(eq(2L), isNull(), any(JsonGenerator.class));
+
+        // rethrown for the container to drop the connection, not turned into a 400 body
+        Exception e = assertThrows(Exception.class, () -> mockMvc.perform(get("/events/getVotes")
+                .param("userId", "1")
+                .param("eventId", "2")));
+
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof IllegalStateException)) cause = cause.getCause();
+        assertNotNull(cause);
+        assertEquals("vote cursor closed", cause.getMessage());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.event_scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Boots the prod profile against an in-memory database so flyway runs every
+ * migration and hibernate validates the entities against the result.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:prodschema;DB_CLOSE_DELAY=-1",
+		"jwt.keystore.path=",
+		"jwt.keystore.password="
+})
+@ActiveProfiles("prod")
+class ProdSchemaMigrationTests {
+
+	@Test
+	void migrationsMatchEntities() {
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.example.event_scheduling.availability;
+
+import com.example.event_scheduling.cache.LocalInvalidationBus;
+import com.example.event_scheduling.dto.AvailabilityWindowDTO;
+import com.example.event_scheduling.dto.UserInterval;
+import com.example.event_scheduling.repository.TimeslotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AvailabilitySearchTest {
+
+    private static final Instant DAY = Instant.parse("2030-01-01T00:00:00Z");
+
+    private AvailabilitySearch search;
+
+    @AfterEach
+    void tearDown() {
+        if (search != null) search.shutdown();
+    }
+
+    @Test
+    void testWindowsRankedByFreeUsers() {
+        // user 1 busy 9-10, user 2 busy 9:30-12, user 3 free all day
+        search = searchOver(List.of(
+                new UserInterval(1L, 10L, at(9), at(10)),
+                new UserInterval(2L, 11L, at(9.5), at(12))), 2);
+
+        List<AvailabilityWindowDTO> windows = search.search(List.of(1L, 2L, 3L), at(8), at(13),
+                Duration.ofHours(1), Duration.ofMinutes(30), 3);
+
+        assertEquals(new AvailabilityWindowDTO(at(8), at(9), 3, 3), windows.get(0));
+        assertEquals(new AvailabilityWindowDTO(at(12), at(13), 3, 3), windows.get(1));
+        assertEquals(new AvailabilityWindowDTO(at(8.5), at(9.5), 2, 3), windows.get(2));
+    }
+
+    @Test
+    void testParallelCountsMatchBruteForce() {
+        Random random = new Random(42);
+        List<UserInterval> intervals = new ArrayList<UserInterval>();
+        List<Long> userIds = new ArrayList<Long>();
+        for (long userId = 1; userId <= 200; userId++) {
+            userIds.add(userId);
+            for (int i = 0; i < 20; i++) {
+                Instant start = DAY.plus(15L * random.nextInt(30 * 96), ChronoUnit.MINUTES);
+                intervals.add(new UserInterval(userId, userId * 100 + i, start, start.plus(15L * (1 + random.nextInt(12)), ChronoUnit.MINUTES)));
+            }
+        }
+        search = searchOver(intervals, 4);
+
+        Duration length = Duration.ofMinutes(90), step = Duration.ofMinutes(15);
+        Instant to = DAY.plus(30, ChronoUnit.DAYS);
+        List<AvailabilityWindowDTO> windows = search.search(userIds, DAY, to, length, step, 20);
+
+        assertEquals(20, windows.size());
+        for (AvailabilityWindowDTO window : windows) {
+            for (Instant start = window.startTime(); !start.plus(length).isAfter(window.endTime()); start = start.plus(step)) {
+                assertEquals(freeCount(intervals, userIds.size(), start, start.plus(length)), window.available());
+            }
+        }
+        for (int i = 1; i < windows.size(); i++) {
+            assertTrue(windows.get(i - 1).available() >= windows.get(i).available());
+        }
+    }
+
+    private static int freeCount(List<UserInterval> intervals, int users, Instant start, Instant end) {
+        long busy = intervals.stream()
+                .filter(i -> i.startTime().isBefore(end) && i.endTime().isAfter(start))
+                .map(UserInterval::userId)
+                .distinct()
+                .count();
+        return users - (int) busy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AvailabilitySearch searchOver(List<UserInterval> intervals, int parallelism) {
+        TimeslotRepository timeslotRepository = mock(TimeslotRepository.class);
+        when(timeslotRepository.findFinalizedForUsers(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return intervals.stream().filter(i -> ids.contains(i.userId())).toList();
+        });
+        BusyTimeIndex index = new BusyTimeIndex(timeslotRepository, new LocalInvalidationBus());
+        return new AvailabilitySearch(index, parallelism);
+    }
+
+    private static Instant at(double hour) {
+        return DAY.plus((long) (hour * 60), ChronoUnit.MINUTES);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.event_scheduling.availability;
+
+import com.example.event_scheduling.cache.LocalInvalidationBus;
+import com.example.event_scheduling.dto.CalendarEntry;
+import com.example.event_scheduling.dto.IntervalDTO;
+import com.example.event_scheduling.repository.TimeslotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BusyTimeIndexTest {
+
+    private static final Instant DAY = Instant.parse("2030-01-01T00:00:00Z");
+
+    private TimeslotRepository timeslotRepository;
+    private BusyTimeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        timeslotRepository = mock(TimeslotRepository.class);
+        // user 1: 9-10 and an overlapping 9:30-11, user 2: 13-14
+        when(timeslotRepository.findFinalizedForUser(1L)).thenReturn(List.of(entry(10L, 9, 10), entry(11L, 9.5, 11)));
+        when(timeslotRepository.findFinalizedForUser(2L)).thenReturn(List.of(entry(12L, 13, 14)));
+        index = new BusyTimeIndex(timeslotRepository, new LocalInvalidationBus());
+    }
+
+    @Test
+    void testIsFreeAtIntervalEdges() {
+        assertTrue(index.isFree(1L, at(8), at(9)));
+        assertFalse(index.isFree(1L, at(8), at(9.25)));
+        assertFalse(index.isFree(1L, at(10.5), at(12)));
+        assertFalse(index.isFree(1L, at(8), at(12)));
+        assertTrue(index.isFree(1L, at(11), at(12)));
+        assertEquals(List.of(1L), index.busyUsers(List.of(1L, 2L), at(10), at(10.5)));
+        verify(timeslotRepository, times(1)).findFinalizedForUser(1L);
+    }
+
+    @Test
+    void testFreeWindowsAcrossUsers() {
+        List<IntervalDTO> free = index.freeWindows(List.of(1L, 2L), at(8), at(18), Duration.ofHours(1));
+
+        assertEquals(List.of(new IntervalDTO(at(8), at(9)),
+                new IntervalDTO(at(11), at(13)),
+                new IntervalDTO(at(14), at(18))), free);
+        assertEquals(List.of(new IntervalDTO(at(9), at(11)), new IntervalDTO(at(13), at(13.5))),
+                index.busy(List.of(1L, 2L), at(8), at(13.5)));
+    }
+
+    @Test
+    void testFinalizeAndRemoveUpdateLoadedUsers() {
+        assertTrue(index.isFree(2L, at(15), at(16)));
+
+        index.eventFinalized(13L, at(15), at(16), List.of(2L, 3L));
+        assertFalse(index.isFree(2L, at(15), at(16)));
+
+        assertFalse(index.isFree(1L, at(10), at(11)));
+        index.eventRemoved(11L, List.of(1L));
+        assertTrue(index.isFree(1L, at(10), at(11)));
+        assertFalse(index.isFree(1L, at(9.5), at(10)));
+    }
+
+    private static CalendarEntry entry(Long eventId, double startHour, double endHour) {
+        return new CalendarEntry(eventId, "t", "d", at(startHour), at(endHour), null, null);
+    }
+
+    private static Instant at(double hour) {
+        return DAY.plus((long) (hour * 60), ChronoUnit.MINUTES);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.event_scheduling.availability;
+
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.UserRepository;
+import com.example.event_scheduling.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Who may read whose free/busy: the caller, and members of events the caller created.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:freebusytest;DB_CLOSE_DELAY=-1",
+        "events.purge.enabled=false",
+        "events.archive.enabled=false"
+})
+class FreeBusyServiceTest {
+
+    @Autowired
+    private FreeBusyService freeBusyService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testOnlySelfAndMembersOfOwnEventsAreVisible() {
+        User creator = user("creator");
+        User member = user("member");
+        User stranger = user("stranger");
+        Instant start = Instant.now().plus(Duration.ofDays(30)).truncatedTo(ChronoUnit.HOURS);
+        Long eventId = eventService.createEvent(creator.getId(), "Planning", null, start, start.plus(Duration.ofHours(1)), 1, null, null).id();
+        assertNotNull(eventService.inviteToEvent(creator.getId(), eventId, member.getId()));
+
+        assertTrue(freeBusyService.canView(stranger.getId(), List.of(stranger.getId())));
+        assertTrue(freeBusyService.canView(creator.getId(), List.of(creator.getId(), member.getId(), member.getId())));
+
+        // being invited does not let a member look up the creator, and strangers stay hidden
+        assertFalse(freeBusyService.canView(member.getId(), List.of(creator.getId())));
+        assertFalse(freeBusyService.canView(creator.getId(), List.of(member.getId(), stranger.getId())));
+        assertFalse(freeBusyService.canView(stranger.getId(), List.of(member.getId())));
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        user.setFirstName(name);
+        user.setLastName("Test");
+        user.setPassword("not-a-hash");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.event_scheduling.bench;
+
+import com.example.event_scheduling.availability.AvailabilitySearch;
+import com.example.event_scheduling.availability.BusyTimeIndex;
+import com.example.event_scheduling.cache.LocalInvalidationBus;
+import com.example.event_scheduling.dto.AvailabilityWindowDTO;
+import com.example.event_scheduling.dto.UserInterval;
+import com.example.event_scheduling.repository.TimeslotRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Top-10 one-hour windows for {@code invitees} users, each with {@code eventsPerUser} finalized
+ * timeslots, over a 90-day horizon on a 15 minute grid. Compare {@code parallelism} values
+ * on a machine with at least that many cores to see the speedup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilitySearchBenchmark {
+
+    private static final Instant START = Instant.parse("2030-01-01T00:00:00Z");
+    private static final int HORIZON_DAYS = 90;
+
+    @Param({"5000"})
+    public int invitees;
+
+    @Param({"100"})
+    public int eventsPerUser;
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    private AvailabilitySearch search;
+    private List<Long> userIds;
+
+    @Setup
+    public void setUp() {
+        List<UserInterval> intervals = new ArrayList<UserInterval>(invitees * eventsPerUser);
+        userIds = new ArrayList<Long>(invitees);
+        SplittableRandom random = new SplittableRandom(11);
+        for (long userId = 1; userId <= invitees; userId++) {
+            userIds.add(userId);
+            for (int i = 0; i < eventsPerUser; i++) {
+                Instant start = START.plus(15L * random.nextInt(HORIZON_DAYS * 96), ChronoUnit.MINUTES);
+                intervals.add(new UserInterval(userId, userId * eventsPerUser + i, start, start.plus(15L * (2 + random.nextInt(6)), ChronoUnit.MINUTES)));
+            }
+        }
+
+        TimeslotRepository timeslotRepository = Mockito.mock(TimeslotRepository.class);
+        Mockito.when(timeslotRepository.findFinalizedForUsers(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            long first = ids.iterator().next(), last = first + ids.size();
+            return intervals.stream().filter(i -> i.userId() >= first && i.userId() < last).toList();
+        });
+
+        search = new AvailabilitySearch(new BusyTimeIndex(timeslotRepository, new LocalInvalidationBus()), parallelism);
+        // load the index once so iterations measure the search only
+        search.search(userIds, START, START.plus(1, ChronoUnit.DAYS), Duration.ofHours(1), Duration.ofMinutes(15), 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        search.shutdown();
+    }
+
+    @Benchmark
+    public List<AvailabilityWindowDTO> topWindows() {
+        return search.search(userIds, START, START.plus(HORIZON_DAYS, ChronoUnit.DAYS), Duration.ofHours(1), Duration.ofMinutes(15), 10);
+    }
+}
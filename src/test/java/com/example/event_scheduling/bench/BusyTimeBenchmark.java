@@ -0,0 +1,81 @@
+package com.example.event_scheduling.bench;
+
+import com.example.event_scheduling.availability.BusyTimeIndex;
+import com.example.event_scheduling.cache.LocalInvalidationBus;
+import com.example.event_scheduling.dto.CalendarEntry;
+import com.example.event_scheduling.dto.IntervalDTO;
+import com.example.event_scheduling.repository.TimeslotRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+
+/**
+ * Free/busy lookups against an index of 10k users, each with {@code eventsPerUser} finalized
+ * one-hour timeslots spread over a year. {@code isFree} should stay flat as
+ * {@code eventsPerUser} grows; {@code freeWindows} scales with the intervals inside the week.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusyTimeBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final Instant START = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Param({"50", "500"})
+    public int eventsPerUser;
+
+    @Param({"10"})
+    public int usersPerQuery;
+
+    private BusyTimeIndex index;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    @Setup
+    public void setUp() {
+        TimeslotRepository timeslotRepository = Mockito.mock(TimeslotRepository.class);
+        Mockito.when(timeslotRepository.findFinalizedForUser(anyLong())).thenAnswer(invocation -> {
+            long userId = invocation.getArgument(0);
+            SplittableRandom userRandom = new SplittableRandom(userId);
+            List<CalendarEntry> entries = new ArrayList<CalendarEntry>(eventsPerUser);
+            for (int i = 0; i < eventsPerUser; i++) {
+                Instant start = START.plus(userRandom.nextInt(365 * 24), ChronoUnit.HOURS);
+                entries.add(new CalendarEntry(userId * eventsPerUser + i, "t", "d", start, start.plus(1, ChronoUnit.HOURS), null, null));
+            }
+            return entries;
+        });
+
+        index = new BusyTimeIndex(timeslotRepository, new LocalInvalidationBus());
+        for (long userId = 1; userId <= USERS; userId++) {
+            index.isFree(userId, START, START.plus(1, ChronoUnit.MINUTES));
+        }
+    }
+
+    @Benchmark
+    public boolean isFree() {
+        Instant start = START.plus(random.nextInt(365 * 24 * 60), ChronoUnit.MINUTES);
+        return index.isFree(1L + random.nextInt(USERS), start, start.plus(30, ChronoUnit.MINUTES));
+    }
+
+    @Benchmark
+    public List<IntervalDTO> freeWindowsForWeek() {
+        List<Long> userIds = new ArrayList<Long>(usersPerQuery);
+        for (int i = 0; i < usersPerQuery; i++) {
+            userIds.add(1L + random.nextInt(USERS));
+        }
+        Instant from = START.plus(random.nextInt(358), ChronoUnit.DAYS);
+        return index.freeWindows(userIds, from, from.plus(7, ChronoUnit.DAYS), Duration.ofMinutes(30));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.event_scheduling.bench;
+
+import com.example.event_scheduling.cache.LocalInvalidationBus;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.UserRepository;
+import com.example.event_scheduling.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Login throughput of AuthService.authenticate per bcrypt cost, for known users and for
+ * unknown emails (which the negative cache answers without a repository lookup or hash).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoginBenchmark {
+
+    @Param({"8", "10", "12"})
+    public int strength;
+
+    private AuthService authService;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("known@example.com");
+        user.setPassword(encoder.encode("password123"));
+
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(repository.findByEmail("known@example.com")).thenReturn(Optional.of(user));
+
+        authService = new AuthService(repository, encoder, 1, 1, Duration.ofMinutes(5), 1000, new LocalInvalidationBus());
+    }
+
+    @TearDown
+    public void tearDown() {
+        authService.shutdown();
+    }
+
+    @Benchmark
+    public User knownUser() {
+        return authService.authenticate("known@example.com", "password123");
+    }
+
+    @Benchmark
+    public User unknownEmail() {
+        return authService.authenticate("nobody@example.com", "password123");
+    }
+}
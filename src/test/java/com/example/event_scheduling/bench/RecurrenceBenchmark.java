@@ -0,0 +1,54 @@
+package com.example.event_scheduling.bench;
+
+import com.example.event_scheduling.recurrence.RecurrenceRule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of expanding a recurring series. {@code monthWindow} expands one month starting
+ * {@code yearsIn} years after the series start and should not grow with {@code yearsIn};
+ * {@code multiYear} expands the whole range from the start, the cost a materialized series
+ * would pay up front.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceBenchmark {
+
+    @Param({"FREQ=WEEKLY;BYDAY=MO,WE,FR", "FREQ=DAILY", "FREQ=MONTHLY;COUNT=600"})
+    public String rule;
+
+    @Param({"1", "10", "40"})
+    public int yearsIn;
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private RecurrenceRule parsed;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private LocalDateTime rangeEnd;
+
+    @Setup
+    public void setUp() {
+        parsed = RecurrenceRule.parse(rule);
+        windowStart = START.plusYears(yearsIn);
+        windowEnd = windowStart.plusMonths(1);
+        rangeEnd = windowEnd;
+    }
+
+    @Benchmark
+    public List<LocalDateTime> monthWindow() {
+        return parsed.between(START, windowStart, windowEnd, 1000);
+    }
+
+    @Benchmark
+    public List<LocalDateTime> multiYear() {
+        return parsed.between(START, START, rangeEnd, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.event_scheduling.bench;
+
+import com.example.event_scheduling.utils.IsoTimestamps;
+import com.example.event_scheduling.utils.TimeZones;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse and convert cost of one proposal (a start and an end timestamp). {@code legacy} is
+ * the previous path: a formatter parse and two zone conversions through the server zone.
+ * {@code formatter} parses with {@link DateTimeFormatter#ISO_DATE_TIME} into an instant,
+ * {@code fast} is {@link IsoTimestamps} with the zone from {@link TimeZones}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimestampParseBenchmark {
+
+    @Param({"2025-05-15T10:00:00", "2025-05-15T10:00:00Z", "2025-05-15T10:00:00+02:00"})
+    public String start;
+
+    @Param({"UTC", "Europe/Berlin"})
+    public String zone;
+
+    private String end;
+
+    @Setup
+    public void setUp() {
+        end = start.replace("T10:", "T11:");
+    }
+
+    @Benchmark
+    public Instant[] fast() {
+        ZoneId z = TimeZones.of(zone);
+        return new Instant[]{IsoTimestamps.parse(start, z), IsoTimestamps.parse(end, z)};
+    }
+
+    @Benchmark
+    public Instant[] formatter() {
+        ZoneId z = ZoneId.of(zone);
+        return new Instant[]{formatterParse(start, z), formatterParse(end, z)};
+    }
+
+    @Benchmark
+    public LocalDateTime[] legacy() {
+        return new LocalDateTime[]{legacyParse(start), legacyParse(end)};
+    }
+
+    private static Instant formatterParse(String text, ZoneId zone) {
+        Object parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(text, ZonedDateTime::from, LocalDateTime::from);
+        return parsed instanceof ZonedDateTime zoned ? zoned.toInstant() : ((LocalDateTime) parsed).atZone(zone).toInstant();
+    }
+
+    // the removed Utils.getUTCDate, which only accepted times without an offset
+    private static LocalDateTime legacyParse(String text) {
+        LocalDateTime local = LocalDateTime.parse(text.length() > 19 ? text.substring(0, 19) : text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        return local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneId.of("UTC")).toLocalDateTime();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.event_scheduling.bench;
+
+import com.example.event_scheduling.dto.TimeslotDTO;
+import com.example.event_scheduling.model.Event;
+import com.example.event_scheduling.model.Timeslot;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.model.Vote;
+import com.example.event_scheduling.repository.EventRepository;
+import com.example.event_scheduling.repository.UserRepository;
+import com.example.event_scheduling.service.EventService;
+import ch.qos.logback.classic.Level;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the {@code getVotes} view of one event with {@code votes} votes spread over 10
+ * timeslots, from entities already in memory, so only DTO assembly is measured. Run with
+ * {@code -prof gc} to see bytes allocated per call ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoteViewBenchmark {
+
+    private static final int TIMESLOTS = 10;
+    private static final Instant START = Instant.parse("2030-01-01T09:00:00Z");
+
+    @Param({"5000"})
+    public int votes;
+
+    private EventService eventService;
+
+    @Setup
+    public void setUp() {
+        // request logging would otherwise dominate both time and allocations
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(EventService.class)).setLevel(Level.WARN);
+
+        User creator = user(1L);
+        Event event = new Event(creator, "Team Meeting", "Monthly team sync-up meeting", 3);
+        event.setId(1L);
+
+        List<Timeslot> timeslots = new ArrayList<Timeslot>(TIMESLOTS);
+        long voteId = 1;
+        for (int i = 0; i < TIMESLOTS; i++) {
+            Timeslot t = new Timeslot(event, creator, START.plus(i, ChronoUnit.HOURS), START.plus(i + 1, ChronoUnit.HOURS));
+            t.setId((long) i + 1);
+            List<Vote> slotVotes = new ArrayList<Vote>(votes / TIMESLOTS);
+            for (int v = 0; v < votes / TIMESLOTS; v++) {
+                Vote vote = new Vote();
+                vote.setId(voteId++);
+                vote.setUser(user((long) v + 2));
+                vote.setTimeslot(t);
+                slotVotes.add(vote);
+            }
+            t.setVotes(slotVotes);
+            timeslots.add(t);
+        }
+        event.setTimeslots(timeslots);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class, Mockito.withSettings().stubOnly());
+        EventRepository eventRepository = Mockito.mock(EventRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(creator));
+        Mockito.when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        eventService = new EventService(userRepository, eventRepository, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public List<TimeslotDTO> getVotes() {
+        return eventService.getVotes(1L, 1L, null);
+    }
+
+    private static User user(Long id) {
+        User u = new User();
+        u.setId(id);
+        return u;
+    }
+}
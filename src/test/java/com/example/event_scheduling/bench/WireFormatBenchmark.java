@@ -0,0 +1,83 @@
+package com.example.event_scheduling.bench;
+
+import com.example.event_scheduling.config.EpochMillisModule;
+import com.example.event_scheduling.dto.ApiResponse;
+import com.example.event_scheduling.dto.EventDTO;
+import com.example.event_scheduling.dto.TimeslotDTO;
+import com.example.event_scheduling.dto.VoteDTO;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a getEvents-style payload in JSON vs the binary formats.
+ * The encoded size of each format is printed once during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"10"})
+    public int timeslots;
+
+    @Param({"200"})
+    public int votesPerTimeslot;
+
+    private ObjectMapper mapper;
+    private JavaType type;
+    private ApiResponse<List<EventDTO>> payload;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule()).registerModule(new EpochMillisModule());
+            case "smile" -> new ObjectMapper(new SmileFactory()).registerModule(new JavaTimeModule()).registerModule(new EpochMillisModule());
+            default -> new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        };
+        type = mapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                mapper.getTypeFactory().constructCollectionType(List.class, EventDTO.class));
+
+        List<TimeslotDTO> slots = new ArrayList<TimeslotDTO>();
+        Instant start = Instant.parse("2025-05-15T10:00:00Z");
+        long voteId = 1;
+        for (int i = 0; i < timeslots; i++) {
+            List<VoteDTO> votes = new ArrayList<VoteDTO>();
+            for (int v = 0; v < votesPerTimeslot; v++) {
+                votes.add(new VoteDTO(voteId++, (long) v + 2, (long) i + 1));
+            }
+            slots.add(new TimeslotDTO((long) i + 1, start.plus(i, ChronoUnit.HOURS), start.plus(i + 1, ChronoUnit.HOURS), false, 1L, votes));
+        }
+        EventDTO event = new EventDTO(1L, "Team Meeting", "Monthly team sync-up meeting", false, 3, 1L, slots, null, null);
+        payload = new ApiResponse<List<EventDTO>>("Success", List.of(event));
+        encoded = mapper.writeValueAsBytes(payload);
+        System.out.printf("%n%s payload: %d bytes%n", format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return mapper.readValue(encoded, type);
+    }
+}
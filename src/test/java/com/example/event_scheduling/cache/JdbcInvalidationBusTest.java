@@ -0,0 +1,83 @@
+package com.example.event_scheduling.cache;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcInvalidationBusTest {
+
+    private JdbcTemplate jdbc;
+    private JdbcInvalidationBus bus;
+    private final List<InvalidationMessage> received = new ArrayList<InvalidationMessage>();
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:invalidations-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(h2);
+        jdbc.execute("create table cache_invalidations (id bigint generated by default as identity primary key, "
+                + "region varchar(64) not null, cache_key varchar(255) not null, version bigint not null, "
+                + "origin varchar(64) not null, created_at timestamp(6) not null)");
+
+        bus = new JdbcInvalidationBus(jdbc, Duration.ofMinutes(10), Duration.ofSeconds(10));
+        bus.subscribe(InvalidationBus.CALENDAR_REGION, received::add);
+    }
+
+    @Test
+    void testLateCommittedRowIsAppliedOnce() {
+        insert(5, "42", 1L, System.currentTimeMillis());
+        bus.poll();
+        assertEquals(List.of("42"), keys());
+
+        // id 3 was handed out before id 5 but its transaction committed later
+        insert(3, "7", 1L, System.currentTimeMillis());
+        bus.poll();
+        assertEquals(List.of("42", "7"), keys());
+
+        bus.poll();
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void testSameInvalidationFromTwoRowsIsAppliedOnce() {
+        insert(1, "42", 1L, System.currentTimeMillis());
+        insert(2, "42", 1L, System.currentTimeMillis());
+        insert(3, "42", 2L, System.currentTimeMillis());
+        bus.poll();
+
+        assertEquals(List.of("42", "42"), keys());
+        assertEquals(List.of(1L, 2L), received.stream().map(InvalidationMessage::version).toList());
+    }
+
+    @Test
+    void testOwnAndOldRowsAreSkipped() {
+        insert(5, "42", 1L, System.currentTimeMillis());
+        bus.poll();
+        received.clear();
+
+        // behind the last id seen, but older than the lookback
+        insert(2, "old", 1L, System.currentTimeMillis() - Duration.ofMinutes(1).toMillis());
+        bus.publish(InvalidationBus.CALENDAR_REGION, "mine", 1L);
+        received.clear();
+        bus.poll();
+
+        assertTrue(received.isEmpty());
+    }
+
+    private void insert(long id, String key, long version, long createdAt) {
+        jdbc.update("insert into cache_invalidations (id, region, cache_key, version, origin, created_at) values (?, ?, ?, ?, ?, ?)",
+                id, InvalidationBus.CALENDAR_REGION, key, version, "other-node", new Timestamp(createdAt));
+    }
+
+    private List<String> keys() {
+        return received.stream().map(InvalidationMessage::key).toList();
+    }
+}
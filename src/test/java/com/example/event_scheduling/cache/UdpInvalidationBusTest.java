@@ -0,0 +1,59 @@
+package com.example.event_scheduling.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UdpInvalidationBusTest {
+
+    private UdpInvalidationBus nodeA;
+    private UdpInvalidationBus nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // ephemeral ports, a port probed up front could be taken again before the bus binds it
+        nodeA = new UdpInvalidationBus("127.0.0.1", 0, List.of());
+        nodeB = new UdpInvalidationBus("127.0.0.1", 0, List.of("127.0.0.1:" + nodeA.port()));
+        nodeA.addPeer("127.0.0.1:" + nodeB.port());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void testPublishReachesOtherNode() throws Exception {
+        LinkedBlockingQueue<InvalidationMessage> received = new LinkedBlockingQueue<InvalidationMessage>();
+        nodeB.subscribe(InvalidationBus.CALENDAR_REGION, received::add);
+
+        nodeA.publish(InvalidationBus.CALENDAR_REGION, "42", 1000L);
+
+        InvalidationMessage message = received.poll(2, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals("42", message.key());
+        assertEquals(1000L, message.version());
+    }
+
+    @Test
+    void testPublishDeliversLocallyOnce() throws Exception {
+        LinkedBlockingQueue<InvalidationMessage> local = new LinkedBlockingQueue<InvalidationMessage>();
+        LinkedBlockingQueue<InvalidationMessage> remote = new LinkedBlockingQueue<InvalidationMessage>();
+        nodeA.subscribe(InvalidationBus.REVOKED_TOKEN_REGION, local::add);
+        nodeB.subscribe(InvalidationBus.REVOKED_TOKEN_REGION, remote::add);
+        nodeB.subscribe(InvalidationBus.CALENDAR_REGION, remote::add);
+
+        nodeA.publish(InvalidationBus.REVOKED_TOKEN_REGION, "jti|with|pipes", 5L);
+
+        assertEquals("jti|with|pipes", remote.poll(2, TimeUnit.SECONDS).key());
+        assertEquals(1, local.size());
+        assertNull(remote.poll(200, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.event_scheduling.calendar;
+
+import com.example.event_scheduling.cache.InvalidationBus;
+import com.example.event_scheduling.cache.InvalidationMessage;
+import com.example.event_scheduling.cache.LocalInvalidationBus;
+import com.example.event_scheduling.dto.CalendarEntry;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.ArchivedEventRepository;
+import com.example.event_scheduling.repository.TimeslotRepository;
+import com.example.event_scheduling.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CalendarFeedServiceTest {
+
+    private UserRepository userRepository;
+    private TimeslotRepository timeslotRepository;
+    private PeerAwareBus bus;
+    private CalendarFeedService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        timeslotRepository = mock(TimeslotRepository.class);
+        ArchivedEventRepository archivedEventRepository = mock(ArchivedEventRepository.class);
+        bus = new PeerAwareBus();
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(timeslotRepository.findFinalizedForUser(1L)).thenReturn(List.of(entry(10L, "Standup; daily")));
+        when(archivedEventRepository.findFinalizedForParticipant(1L)).thenReturn(List.of());
+
+        service = new CalendarFeedService(userRepository, timeslotRepository, archivedEventRepository, bus, 100);
+    }
+
+    @Test
+    void testFeedIsBuiltOnceAndRendered() throws Exception {
+        CalendarFeed feed = service.getFeed(1L);
+        assertSame(feed, service.getFeed(1L));
+        verify(timeslotRepository, times(1)).findFinalizedForUser(1L);
+
+        StringWriter out = new StringWriter();
+        feed.writeTo(out);
+        String ics = out.toString();
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(ics.contains("UID:event-10@event-scheduling\r\n"));
+        assertTrue(ics.contains("SUMMARY:Standup\\; daily\r\n"));
+        assertTrue(ics.contains("DTSTART:20300101T090000Z\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+    }
+
+    @Test
+    void testZonedSeriesIsWrittenInLocalTime() {
+        String vevent = ICalendar.vevent(new CalendarEntry(12L, "Standup", null,
+                Instant.parse("2030-10-28T13:00:00Z"), Instant.parse("2030-10-28T13:30:00Z"), "FREQ=WEEKLY", "America/New_York"));
+
+        assertTrue(vevent.contains("DTSTART;TZID=America/New_York:20301028T090000\r\n"));
+        assertTrue(vevent.contains("DTEND;TZID=America/New_York:20301028T093000\r\n"));
+        assertTrue(vevent.contains("RRULE:FREQ=WEEKLY\r\n"));
+    }
+
+    @Test
+    void testFeedTokenIsCheckedRotatedAndRevoked() {
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        assertFalse(service.isFeedTokenValid(1L, null));
+        assertFalse(service.isFeedTokenValid(1L, "guess"));
+
+        String first = service.rotateFeedToken(1L);
+        assertTrue(service.isFeedTokenValid(1L, first));
+        assertNotEquals(first, user.getCalendarTokenHash());
+        assertFalse(service.isFeedTokenValid(2L, first));
+
+        // a new token replaces the old one, revoking leaves none
+        String second = service.rotateFeedToken(1L);
+        assertFalse(service.isFeedTokenValid(1L, first));
+        assertTrue(service.isFeedTokenValid(1L, second));
+        assertTrue(service.revokeFeedToken(1L));
+        assertFalse(service.isFeedTokenValid(1L, second));
+    }
+
+    @Test
+    void testFinalizeAndDeclineUpdateCachedFeed() {
+        CalendarFeed feed = service.getFeed(1L);
+        String before = feed.etag();
+
+        service.eventFinalized(entry(11L, "Retro"), List.of(1L, 2L));
+        assertEquals(2, feed.size());
+        assertNotEquals(before, feed.etag());
+
+        service.eventDeclined(11L, 1L);
+        assertEquals(1, feed.size());
+        assertEquals(before, feed.etag());
+        assertSame(feed, service.getFeed(1L));
+    }
+
+    @Test
+    void testRemoteChangeDropsCachedFeed() {
+        CalendarFeed feed = service.getFeed(1L);
+
+        bus.receiveFromPeer(new InvalidationMessage(InvalidationBus.CALENDAR_REGION, "1", 1L, "other-node"));
+
+        assertNotSame(feed, service.getFeed(1L));
+        verify(timeslotRepository, times(2)).findFinalizedForUser(1L);
+    }
+
+    private static class PeerAwareBus extends LocalInvalidationBus {
+        void receiveFromPeer(InvalidationMessage message) {
+            receive(message);
+        }
+    }
+
+    private static CalendarEntry entry(Long eventId, String title) {
+        return new CalendarEntry(eventId, title, "desc",
+                Instant.parse("2030-01-01T09:00:00Z"), Instant.parse("2030-01-01T10:00:00Z"), null, null);
+    }
+}
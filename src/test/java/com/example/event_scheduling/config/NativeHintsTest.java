@@ -0,0 +1,34 @@
+package com.example.event_scheduling.config;
+
+import com.example.event_scheduling.dto.EventDTO;
+import com.example.event_scheduling.dto.TimeslotDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void testJjwtImplementationsAreReachable() throws Exception {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+
+        for (String className : NativeHints.JJWT_CLASSES) {
+            // a typo here would only show up as a failure inside the native executable
+            Class<?> type = Class.forName(className);
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), className);
+        }
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+
+    @Test
+    void testDtosAreRegisteredForBinding() {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(EventDTO.class, "timeslots").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TimeslotDTO.class).test(hints));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.event_scheduling.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationDispatcherTest {
+
+    private record Sent(String recipient, String subject, String body) {}
+
+    private final LinkedBlockingQueue<Sent> sent = new LinkedBlockingQueue<Sent>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) dispatcher.shutdown();
+    }
+
+    @Test
+    void testMessagesGroupedPerRecipient() throws Exception {
+        dispatcher = newDispatcher((to, subject, body) -> sent.add(new Sent(to, subject, body)), Duration.ZERO, 50);
+
+        dispatcher.enqueue("a@x.com", "one");
+        dispatcher.enqueue("b@x.com", "only");
+        dispatcher.enqueue("a@x.com", "two");
+        dispatcher.enqueue("a@x.com", "three");
+        dispatcher.flush();
+
+        Sent first = sent.poll(2, TimeUnit.SECONDS);
+        Sent second = sent.poll(2, TimeUnit.SECONDS);
+        Sent forA = first.recipient().equals("a@x.com") ? first : second;
+        Sent forB = first.recipient().equals("b@x.com") ? first : second;
+
+        assertEquals("3 updates to your events", forA.subject());
+        assertEquals("one\ntwo\nthree", forA.body());
+        assertEquals("only", forB.subject());
+        assertEquals(2, registry.summary("notifications.digest.size").count());
+    }
+
+    @Test
+    void testFullDigestSentBeforeWindowEnds() throws Exception {
+        dispatcher = newDispatcher((to, subject, body) -> sent.add(new Sent(to, subject, body)), Duration.ofHours(1), 2);
+
+        dispatcher.enqueue("a@x.com", "one");
+        dispatcher.flush();
+        assertNull(sent.poll(200, TimeUnit.MILLISECONDS));
+
+        dispatcher.enqueue("a@x.com", "two");
+        assertEquals("one\ntwo", sent.poll(2, TimeUnit.SECONDS).body());
+    }
+
+    @Test
+    void testSmtpTransportAgainstLocalServer() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            CompletableFuture<String> received = CompletableFuture.supplyAsync(() -> acceptOneMessage(server));
+
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost("127.0.0.1");
+            mailSender.setPort(server.getLocalPort());
+            dispatcher = newDispatcher(new SmtpNotificationTransport(mailSender, "no-reply@test"), Duration.ZERO, 50);
+
+            dispatcher.enqueue("a@x.com", "\"Standup\" is scheduled");
+            dispatcher.flush();
+
+            String message = received.get(5, TimeUnit.SECONDS);
+            assertTrue(message.contains("RCPT TO:<a@x.com>"));
+            assertTrue(message.contains("\"Standup\" is scheduled"));
+        }
+    }
+
+    private NotificationDispatcher newDispatcher(NotificationTransport transport, Duration window, int maxBatch) {
+        return new NotificationDispatcher(transport, registry, window, maxBatch, 100, 1, 10);
+    }
+
+    // just enough SMTP for one message, returns the commands and the DATA section
+    private static String acceptOneMessage(ServerSocket server) {
+        StringBuilder log = new StringBuilder();
+        try (Socket socket = server.accept();
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            reply(out, "220 localhost");
+            String line;
+            while ((line = in.readLine()) != null) {
+                log.append(line).append('\n');
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line;
+                if (command.equals("DATA")) {
+                    reply(out, "354 go ahead");
+                    while (!(line = in.readLine()).equals(".")) {
+                        log.append(line).append('\n');
+                    }
+                    reply(out, "250 queued");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 bye");
+                    break;
+                } else {
+                    reply(out, List.of("EHLO", "HELO").contains(command) ? "250 localhost" : "250 ok");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return log.toString();
+    }
+
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.event_scheduling.outbox;
+
+import com.example.event_scheduling.model.DomainEventType;
+import com.example.event_scheduling.model.OutboxEvent;
+import com.example.event_scheduling.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository repository;
+    private SimpleMeterRegistry registry;
+    private List<OutboxEvent> rows;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(OutboxEventRepository.class);
+        registry = new SimpleMeterRegistry();
+        rows = List.of(row(1L, 10L, DomainEventType.EVENT_CREATED),
+                row(2L, 10L, DomainEventType.USER_INVITED),
+                row(3L, 11L, DomainEventType.EVENT_CREATED));
+        when(repository.findByOrderByIdAsc(any())).thenReturn(rows);
+    }
+
+    @Test
+    void testBatchDeliveredInOrderThenDeleted() throws Exception {
+        InMemoryOutboxSink sink = new InMemoryOutboxSink();
+        OutboxRelay relay = new OutboxRelay(repository, sink, registry);
+
+        assertEquals(3, relay.relayBatch());
+
+        assertEquals(1L, sink.poll(0, TimeUnit.SECONDS).id());
+        assertEquals("USER_INVITED", sink.poll(0, TimeUnit.SECONDS).type());
+        assertEquals(11L, sink.poll(0, TimeUnit.SECONDS).eventId());
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        assertEquals(3.0, registry.counter("outbox.relay.delivered").count());
+        assertEquals(3, registry.timer("outbox.relay.lag").count());
+    }
+
+    @Test
+    void testRejectedBatchIsKeptForRetry() {
+        OutboxRelay relay = new OutboxRelay(repository, events -> {
+            throw new java.io.IOException("sink down");
+        }, registry);
+
+        assertEquals(-1, relay.relayBatch());
+
+        verify(repository, never()).deleteAllByIdInBatch(anyList());
+        assertEquals(1.0, registry.counter("outbox.relay.failures").count());
+    }
+
+    private static OutboxEvent row(Long id, Long eventId, DomainEventType type) {
+        OutboxEvent row = new OutboxEvent(eventId, type, "{}", LocalDateTime.now(ZoneOffset.UTC));
+        row.setId(id);
+        return row;
+    }
+}
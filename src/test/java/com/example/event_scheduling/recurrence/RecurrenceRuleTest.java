@@ -0,0 +1,63 @@
+package com.example.event_scheduling.recurrence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    // a Wednesday
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Test
+    void testWeeklyByDayExpandsOnlyTheWindow() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR");
+
+        List<LocalDateTime> firstWeek = rule.between(START, START, START.plusDays(7), 100);
+        // Monday the 30th is before the start, so the first week has Wednesday and Friday only
+        assertEquals(List.of(START, START.plusDays(2), START.plusDays(5)), firstWeek);
+
+        LocalDateTime tenYears = START.plusYears(10);
+        List<LocalDateTime> later = rule.between(START, tenYears, tenYears.plusDays(7), 100);
+        assertEquals(3, later.size());
+        for (LocalDateTime occurrence : later) {
+            assertTrue(List.of(1, 3, 5).contains(occurrence.getDayOfWeek().getValue()));
+            assertEquals(9, occurrence.getHour());
+        }
+    }
+
+    @Test
+    void testCountIsHonouredAfterSkippingAhead() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=10");
+
+        List<LocalDateTime> all = rule.between(START, START, START.plusYears(1), 100);
+        assertEquals(10, all.size());
+        LocalDateTime last = all.get(9);
+
+        assertEquals(List.of(last), rule.between(START, last.minusDays(1), START.plusYears(1), 100));
+        assertTrue(rule.isOccurrence(START, last));
+        assertFalse(rule.isOccurrence(START, last.plusDays(5)));
+    }
+
+    @Test
+    void testMonthlySkipsShortMonthsAndUntilIsInclusive() {
+        LocalDateTime jan31 = LocalDateTime.of(2025, 1, 31, 12, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:FREQ=MONTHLY;UNTIL=20250531");
+
+        List<LocalDateTime> occurrences = rule.between(jan31, jan31, jan31.plusYears(1), 100);
+        assertEquals(List.of(jan31, jan31.withMonth(3), jan31.withMonth(5)), occurrences);
+        assertEquals("FREQ=MONTHLY;UNTIL=20250531T235959Z", rule.toString());
+    }
+
+    @Test
+    void testRejectsUnsupportedRules() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=HOURLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=1MO"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20250101"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=MONTHLY;BYMONTHDAY=1"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("INTERVAL=2"));
+    }
+}
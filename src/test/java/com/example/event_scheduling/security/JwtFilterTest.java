@@ -0,0 +1,73 @@
+package com.example.event_scheduling.security;
+
+import com.example.event_scheduling.cache.LocalInvalidationBus;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class JwtFilterTest {
+
+    private JwtUtil jwtUtil;
+    private TokenRevocationList revocationList;
+    private JwtFilter jwtFilter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(JwtKeyManager.inMemory());
+        revocationList = new TokenRevocationList(100, mock(RevokedTokenRepository.class), new LocalInvalidationBus());
+        jwtFilter = new JwtFilter(jwtUtil, revocationList);
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("user@example.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testAccessTokenAuthenticatesFromClaims() throws Exception {
+        filter(jwtUtil.generateToken(user));
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        assertEquals(new AuthenticatedUser(42L, "user@example.com"), auth.getPrincipal());
+        assertEquals("user@example.com", auth.getName());
+    }
+
+    @Test
+    void testRefreshTokenIsNotAnAccessToken() throws Exception {
+        filter(jwtUtil.generateRefreshToken(user));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void testRevokedTokenIsRejected() throws Exception {
+        String token = jwtUtil.generateToken(user);
+        revocationList.revoke(jwtUtil.parseClaims(token));
+
+        filter(token);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private void filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/getEvents");
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
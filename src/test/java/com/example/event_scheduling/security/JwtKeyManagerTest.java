@@ -0,0 +1,124 @@
+package com.example.event_scheduling.security;
+
+import com.example.event_scheduling.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtKeyManagerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testReplicasShareKeysThroughKeystore() throws Exception {
+        String keystore = dir.resolve("jwt-keys.p12").toString();
+        JwtKeyManager rotating = new JwtKeyManager(keystore, "secret", Duration.ofDays(7), Duration.ofMinutes(1), true);
+        JwtKeyManager replica = new JwtKeyManager(keystore, "secret", Duration.ofDays(7), Duration.ofMinutes(1), false);
+
+        String token = new JwtUtil(rotating).generateToken(user());
+
+        assertEquals(rotating.activeKid(), replica.activeKid());
+        assertNotNull(new JwtUtil(replica).parseClaims(token));
+    }
+
+    @Test
+    void testRotationKeepsOldKeysVerifying() throws Exception {
+        String keystore = dir.resolve("jwt-keys.p12").toString();
+        JwtKeyManager rotating = new JwtKeyManager(keystore, "secret", Duration.ZERO, Duration.ZERO, true);
+        JwtUtil jwtUtil = new JwtUtil(rotating);
+        String oldKid = rotating.activeKid();
+        String oldToken = jwtUtil.generateToken(user());
+
+        Thread.sleep(5);
+        rotating.refresh();
+
+        assertNotEquals(oldKid, rotating.activeKid());
+        assertNotNull(jwtUtil.parseClaims(oldToken));
+        assertNotNull(jwtUtil.parseClaims(jwtUtil.generateToken(user())));
+    }
+
+    @Test
+    void testNewKeySignsOnlyOnceEveryReplicaHasLoadedIt() throws Exception {
+        String keystore = dir.resolve("jwt-keys.p12").toString();
+        AtomicLong offset = new AtomicLong();
+        JwtKeyManager rotating = new JwtKeyManager(keystore, "secret", Duration.ZERO, Duration.ofMinutes(1), true,
+                () -> System.currentTimeMillis() + offset.get());
+        JwtKeyManager replica = new JwtKeyManager(keystore, "secret", Duration.ZERO, Duration.ofMinutes(1), false,
+                () -> System.currentTimeMillis() + offset.get());
+        String firstKid = rotating.activeKid();
+
+        // the new key only verifies until every replica has had two reloads to pick it up
+        Thread.sleep(5);
+        rotating.refresh();
+        String secondKid = newKid(firstKid);
+        assertEquals(firstKid, rotating.activeKid());
+        assertNull(replica.parserFor(secondKid));
+
+        replica.refresh();
+        assertNotNull(replica.parserFor(secondKid));
+        assertEquals(firstKid, replica.activeKid());
+
+        // then it signs, without the file having changed for the replica
+        offset.set(Duration.ofMinutes(3).toMillis());
+        replica.refresh();
+        assertEquals(secondKid, replica.activeKid());
+        assertNotNull(new JwtUtil(rotating).parseClaims(new JwtUtil(replica).generateToken(user())));
+    }
+
+    @Test
+    void testKeyIsKeptUntilTokensSignedBeforeItsSuccessorActivatedExpire() throws Exception {
+        String keystore = dir.resolve("jwt-keys.p12").toString();
+        AtomicLong offset = new AtomicLong();
+        JwtKeyManager rotating = new JwtKeyManager(keystore, "secret", Duration.ZERO, Duration.ofMinutes(1), true,
+                () -> System.currentTimeMillis() + offset.get());
+        String firstKid = rotating.activeKid();
+        Thread.sleep(5);
+        rotating.refresh();
+
+        // the first key signed until two minutes after its successor was written
+        offset.set(JwtUtil.REFRESH_EXPIRATION);
+        rotating.refresh();
+        assertNotNull(rotating.parserFor(firstKid));
+
+        offset.addAndGet(Duration.ofMinutes(5).toMillis());
+        rotating.refresh();
+        assertNull(rotating.parserFor(firstKid));
+        assertNotNull(rotating.parserFor(rotating.activeKid()));
+    }
+
+    @Test
+    void testUnknownKidIsRejected() {
+        String token = new JwtUtil(JwtKeyManager.inMemory()).generateToken(user());
+
+        assertNull(new JwtUtil(JwtKeyManager.inMemory()).parseClaims(token));
+    }
+
+    // kids are random, so find the one the keystore did not hold before
+    private String newKid(String knownKid) throws Exception {
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(dir.resolve("jwt-keys.p12"))) {
+            store.load(in, "secret".toCharArray());
+        }
+        for (String alias : Collections.list(store.aliases())) {
+            if (!alias.equals(knownKid)) return alias;
+        }
+        throw new AssertionError("keystore holds no new key");
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+        return user;
+    }
+}
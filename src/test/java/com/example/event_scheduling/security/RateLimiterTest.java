@@ -0,0 +1,50 @@
+package com.example.event_scheduling.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void testBurstThenRefill() {
+        RateLimiter limiter = new RateLimiter(3, 1.0, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("user"));
+        assertEquals(0, limiter.tryAcquire("user"));
+        assertEquals(0, limiter.tryAcquire("user"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("user"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("user"));
+        assertTrue(limiter.tryAcquire("user") > 0);
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        RateLimiter limiter = new RateLimiter(1, 1.0, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void testIdleBucketsAreEvicted() {
+        RateLimiter limiter = new RateLimiter(2, 1.0, 2, now::get);
+
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertEquals(0, limiter.evictIdle());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        // map is at its bound, so the new key triggers eviction of the refilled ones
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(1, limiter.size());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.event_scheduling.security;
+
+import com.example.event_scheduling.cache.LocalInvalidationBus;
+import com.example.event_scheduling.repository.RevokedTokenRepository;
+import com.example.event_scheduling.utils.ExpiringSet.AddResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Revokes tokens on one list and checks that a list created later, as after a restart or on a
+ * new replica, and a list on a node the bus has not reached both refuse them.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:revocationtest;DB_CLOSE_DELAY=-1",
+        "events.purge.enabled=false",
+        "events.archive.enabled=false"
+})
+class TokenRevocationListTest {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void testRevocationsSurviveARestart() {
+        TokenRevocationList before = node();
+        String live = UUID.randomUUID().toString();
+        String expired = UUID.randomUUID().toString();
+        assertEquals(AddResult.ADDED, before.revoke(live, System.currentTimeMillis() + Duration.ofDays(30).toMillis()));
+        assertEquals(AddResult.ADDED, before.revoke(expired, System.currentTimeMillis() - 1));
+
+        TokenRevocationList after = node();
+        assertTrue(after.isRevoked(live));
+        assertFalse(after.isRevoked(expired));
+
+        before.purgeExpired();
+        assertTrue(revokedTokenRepository.findById(expired).isEmpty());
+        assertTrue(revokedTokenRepository.findById(live).isPresent());
+    }
+
+    @Test
+    void testOnlyOneNodeRevokesARefreshToken() {
+        TokenRevocationList first = node();
+        TokenRevocationList second = node();
+        String tokenId = UUID.randomUUID().toString();
+        long expiresAt = System.currentTimeMillis() + Duration.ofDays(30).toMillis();
+
+        // separate buses, so the second node only learns of it from the table
+        assertEquals(AddResult.ADDED, first.revoke(tokenId, expiresAt));
+        assertFalse(second.isRevoked(tokenId));
+        assertEquals(AddResult.PRESENT, second.revoke(tokenId, expiresAt));
+        assertTrue(second.isRevoked(tokenId));
+    }
+
+    private TokenRevocationList node() {
+        return new TokenRevocationList(100, revokedTokenRepository, new LocalInvalidationBus());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.model.ArchivedEvent;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.ArchivedEventRepository;
+import com.example.event_scheduling.repository.EventRepository;
+import com.example.event_scheduling.repository.OccurrenceOverrideRepository;
+import com.example.event_scheduling.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archives a finalized event whose members belong to other events too, and checks that only
+ * the archived event's memberships go. A finalized recurring series is never archived.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivetest;DB_CLOSE_DELAY=-1",
+        "events.purge.enabled=false",
+        "events.archive.enabled=false",
+        "events.archive.batch-size=10"
+})
+class EventArchiveServiceTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventArchiveService eventArchiveService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+
+    @Autowired
+    private OccurrenceService occurrenceService;
+
+    @Autowired
+    private OccurrenceOverrideRepository occurrenceOverrideRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testArchiveRemovesOnlyTheArchivedEventsMemberships() {
+        User creator = user("creator");
+        User member = user("member");
+        Instant start = Instant.now().plus(Duration.ofDays(30)).truncatedTo(ChronoUnit.HOURS);
+
+        Long archivedId = eventService.createEvent(creator.getId(), "Kickoff", null, start, start.plus(Duration.ofHours(1)), 1, null, null).id();
+        Long keptId = eventService.createEvent(creator.getId(), "Follow-up", null, start.plus(Duration.ofDays(1)), start.plus(Duration.ofDays(1)).plus(Duration.ofHours(1)), 1, null, null).id();
+        for (Long eventId : List.of(archivedId, keptId)) {
+            assertNotNull(eventService.inviteToEvent(creator.getId(), eventId, member.getId()));
+        }
+        assertNotNull(eventService.finalizeEvent(creator.getId(), archivedId, true));
+
+        // a cutoff past the finalized timeslot makes it archivable now
+        Integer archived = new TransactionTemplate(transactionManager)
+                .execute(status -> eventArchiveService.archiveBatch(start.plus(Duration.ofDays(365))));
+
+        assertEquals(1, archived);
+        assertTrue(eventRepository.findById(archivedId).isEmpty());
+        assertEquals(0, eventRepository.countMembers(archivedId));
+        assertEquals(List.of(creator.getId(), member.getId()), eventRepository.findMemberIds(keptId).stream().sorted().toList());
+
+        List<ArchivedEvent> memberArchive = archivedEventRepository.findByParticipantId(member.getId());
+        assertEquals(List.of(archivedId), memberArchive.stream().map(ArchivedEvent::getId).toList());
+    }
+
+    @Test
+    void testRecurringSeriesIsNotArchived() {
+        User creator = user("creator");
+        Instant start = Instant.now().plus(Duration.ofDays(30)).truncatedTo(ChronoUnit.HOURS);
+
+        Long seriesId = eventService.createEvent(creator.getId(), "Standup", null, start, start.plus(Duration.ofMinutes(15)), 1, "FREQ=WEEKLY", null).id();
+        assertNotNull(eventService.finalizeEvent(creator.getId(), seriesId, true));
+        Instant cancelled = start.plus(Duration.ofDays(7 * 52));
+        assertNotNull(occurrenceService.overrideOccurrence(creator.getId(), seriesId, cancelled, null, null, true));
+
+        // the finalized slot is long past the cutoff, but the series is still running
+        Instant cutoff = start.plus(Duration.ofDays(365));
+        new TransactionTemplate(transactionManager).execute(status -> eventArchiveService.archiveBatch(cutoff));
+
+        assertTrue(eventRepository.findById(seriesId).isPresent());
+        assertNotNull(occurrenceOverrideRepository.findByEventIdAndOriginalStart(seriesId, cancelled));
+        assertTrue(archivedEventRepository.findById(seriesId).isEmpty());
+        assertEquals(1, new TransactionTemplate(transactionManager).execute(status ->
+                occurrenceService.getOccurrences(creator.getId(), seriesId, cutoff, cutoff.plus(Duration.ofDays(7)))).size());
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        user.setFirstName(name);
+        user.setLastName("Test");
+        user.setPassword("not-a-hash");
+        return userRepository.save(user);
+    }
+}
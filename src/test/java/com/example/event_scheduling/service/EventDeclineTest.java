@@ -0,0 +1,185 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.availability.BusyTimeIndex;
+import com.example.event_scheduling.calendar.CalendarFeedService;
+import com.example.event_scheduling.dto.EventDTO;
+import com.example.event_scheduling.dto.TimeslotDTO;
+import com.example.event_scheduling.dto.VoteDTO;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.EventRepository;
+import com.example.event_scheduling.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Declines an event for a user who voted on other people's timeslots and proposed timeslots
+ * other people voted on, and counts the statements through the SQL instrumentation. A finalized
+ * timeslot the user proposed stays.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:declinetest;DB_CLOSE_DELAY=-1",
+        "events.purge.enabled=false",
+        "events.archive.enabled=false"
+})
+class EventDeclineTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BusyTimeIndex busyTimeIndex;
+
+    @Autowired
+    private CalendarFeedService calendarFeedService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testDeclineRemovesTheUsersVotesAndTimeslots() {
+        Fixture f = new Fixture(2);
+
+        assertEquals("Successfully declined event", eventService.declineEvent(f.eventId, f.decliner.getId()));
+
+        // the creator's and the other participant's timeslots stay, with only the others' votes on them
+        List<TimeslotDTO> timeslots = reads().execute(status -> eventService.getVotes(f.creator.getId(), f.eventId, null));
+        assertEquals(List.of(f.creator.getId(), f.other.getId()),
+                timeslots.stream().map(TimeslotDTO::creatorId).toList());
+        for (TimeslotDTO t : timeslots) {
+            assertEquals(List.of(f.other.getId()), t.votes().stream().map(VoteDTO::userId).toList());
+        }
+        assertEquals(List.of(f.creator.getId(), f.other.getId()), eventRepository.findMemberIds(f.eventId).stream().sorted().toList());
+
+        // declining twice, or as the creator, changes nothing
+        assertNull(eventService.declineEvent(f.eventId, f.decliner.getId()));
+        assertNull(eventService.declineEvent(f.eventId, f.creator.getId()));
+        assertEquals(2, eventRepository.findMemberIds(f.eventId).size());
+    }
+
+    @Test
+    void testDeclineKeepsTheFinalizedTimeslotTheUserProposed() {
+        User creator = user("creator");
+        User decliner = user("decliner");
+        User other = user("other");
+        Instant start = Instant.now().plus(Duration.ofDays(30)).truncatedTo(ChronoUnit.HOURS);
+        Long eventId = eventService.createEvent(creator.getId(), "Offsite", null, start, start.plus(Duration.ofHours(1)), 2, null, null).id();
+        assertNotNull(eventService.inviteToEvent(creator.getId(), eventId, decliner.getId()));
+        assertNotNull(eventService.inviteToEvent(creator.getId(), eventId, other.getId()));
+
+        // the decliner's timeslot gets both participants' votes and is finalized
+        Instant slot = start.plus(Duration.ofDays(1));
+        assertNotNull(eventService.proposeTimeslot(eventId, decliner.getId(), slot, slot.plus(Duration.ofHours(1))));
+        TimeslotDTO proposed = reads().execute(status -> eventService.getVotes(creator.getId(), eventId, null)).stream()
+                .filter(t -> t.creatorId().equals(decliner.getId()))
+                .findFirst().orElseThrow();
+        assertNotNull(eventService.vote(decliner.getId(), eventId, proposed.id(), false));
+        assertNotNull(eventService.vote(other.getId(), eventId, proposed.id(), false));
+        EventDTO finalized = eventService.finalizeEvent(creator.getId(), eventId, false);
+        assertTrue(finalized.timeslots().stream().anyMatch(t -> t.id().equals(proposed.id()) && t.finalized()));
+
+        assertEquals("Successfully declined event", eventService.declineEvent(eventId, decliner.getId()));
+
+        // the event stays scheduled on it, with only the remaining participant's vote
+        TimeslotDTO kept = reads().execute(status -> eventService.getVotes(creator.getId(), eventId, null)).stream()
+                .filter(TimeslotDTO::finalized)
+                .findFirst().orElseThrow();
+        assertEquals(proposed.id(), kept.id());
+        assertEquals(List.of(other.getId()), kept.votes().stream().map(VoteDTO::userId).toList());
+
+        assertEquals(List.of(other.getId()), busyTimeIndex.busyUsers(List.of(decliner.getId(), other.getId()),
+                proposed.startTime(), proposed.endTime()));
+        assertEquals(1, calendarFeedService.getFeed(other.getId()).size());
+        assertEquals(0, calendarFeedService.getFeed(decliner.getId()).size());
+    }
+
+    @Test
+    void testDeclineStatementCountDoesNotGrowWithVotes() {
+        Fixture small = new Fixture(1);
+        Fixture large = new Fixture(6);
+
+        double smallStatements = statementsFor(() -> eventService.declineEvent(small.eventId, small.decliner.getId()));
+        double largeStatements = statementsFor(() -> eventService.declineEvent(large.eventId, large.decliner.getId()));
+
+        assertTrue(smallStatements > 0);
+        assertEquals(smallStatements, largeStatements);
+    }
+
+    private double statementsFor(Runnable decline) {
+        DistributionSummary statements = meterRegistry.summary("sql.transaction.statements",
+                "transaction", "EventService.declineEvent", "outcome", "commit");
+        double before = statements.totalAmount();
+        decline.run();
+        return statements.totalAmount() - before;
+    }
+
+    private TransactionTemplate reads() {
+        // getVotes walks lazy collections, which open-in-view covers for web requests
+        return new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * An event by {@code creator} with participants {@code decliner} and {@code other}. The decliner
+     * proposes {@code proposals} timeslots and votes on the creator's and other's; other votes on all.
+     */
+    private class Fixture {
+        final User creator = user("creator");
+        final User decliner = user("decliner");
+        final User other = user("other");
+        final Long eventId;
+
+        Fixture(int proposals) {
+            Instant start = Instant.now().plus(Duration.ofDays(30)).truncatedTo(ChronoUnit.HOURS);
+            eventId = eventService.createEvent(creator.getId(), "Retro", null, start, start.plus(Duration.ofHours(1)), 10, null, null).id();
+            assertNotNull(eventService.inviteToEvent(creator.getId(), eventId, decliner.getId()));
+            assertNotNull(eventService.inviteToEvent(creator.getId(), eventId, other.getId()));
+
+            Instant otherSlot = start.plus(Duration.ofDays(1));
+            assertNotNull(eventService.proposeTimeslot(eventId, other.getId(), otherSlot, otherSlot.plus(Duration.ofHours(1))));
+            for (int i = 0; i < proposals; i++) {
+                Instant slot = start.plus(Duration.ofDays(i + 2));
+                assertNotNull(eventService.proposeTimeslot(eventId, decliner.getId(), slot, slot.plus(Duration.ofHours(1))));
+            }
+
+            List<TimeslotDTO> timeslots = reads().execute(status -> eventService.getVotes(creator.getId(), eventId, null));
+            List<Long> declinerVotes = new ArrayList<Long>();
+            for (TimeslotDTO t : timeslots) {
+                assertNotNull(eventService.vote(other.getId(), eventId, t.id(), false));
+                if (!t.creatorId().equals(decliner.getId())) declinerVotes.add(t.id());
+            }
+            for (Long timeslotId : declinerVotes) {
+                assertNotNull(eventService.vote(decliner.getId(), eventId, timeslotId, false));
+            }
+        }
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        user.setFirstName(name);
+        user.setLastName("Test");
+        user.setPassword("not-a-hash");
+        return userRepository.save(user);
+    }
+}
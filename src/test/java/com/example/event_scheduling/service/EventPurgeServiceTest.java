@@ -0,0 +1,140 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.dto.EventDTO;
+import com.example.event_scheduling.dto.EventDeletionDTO;
+import com.example.event_scheduling.dto.TimeslotDTO;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.EventRepository;
+import com.example.event_scheduling.repository.TimeslotRepository;
+import com.example.event_scheduling.repository.UserRepository;
+import com.example.event_scheduling.repository.VoteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deletes a populated event through {@link EventService} and purges it with a batch size of
+ * three, so every table takes several transactions to empty.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:purgetest;DB_CLOSE_DELAY=-1",
+        "events.purge.enabled=false",
+        "events.purge.batch-size=3",
+        "events.archive.enabled=false"
+})
+class EventPurgeServiceTest {
+
+    private static final int PARTICIPANTS = 4;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventPurgeService eventPurgeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TimeslotRepository timeslotRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testDeletedEventIsHiddenThenPurgedInBatches() {
+        User creator = user("creator");
+        List<User> participants = new ArrayList<User>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            participants.add(user("participant" + i));
+        }
+
+        // the creator's slot plus one per participant, and every participant votes on all of them
+        Instant start = Instant.now().plus(Duration.ofDays(30)).truncatedTo(ChronoUnit.HOURS);
+        EventDTO created = eventService.createEvent(creator.getId(), "Offsite", null, start, start.plus(Duration.ofHours(1)), 10, null, null);
+        Long eventId = created.id();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            User p = participants.get(i);
+            assertNotNull(eventService.inviteToEvent(creator.getId(), eventId, p.getId()));
+            Instant slot = start.plus(Duration.ofDays(i + 1));
+            assertNotNull(eventService.proposeTimeslot(eventId, p.getId(), slot, slot.plus(Duration.ofHours(1))));
+        }
+        // reads walk lazy collections, which open-in-view covers for web requests
+        TransactionTemplate reads = new TransactionTemplate(transactionManager);
+        List<TimeslotDTO> timeslots = reads.execute(status -> eventService.getVotes(creator.getId(), eventId, null));
+        for (User p : participants) {
+            for (TimeslotDTO t : timeslots) {
+                assertNotNull(eventService.vote(p.getId(), eventId, t.id(), false));
+            }
+        }
+        long votes = PARTICIPANTS * (PARTICIPANTS + 1);
+        long slots = PARTICIPANTS + 1;
+        long members = PARTICIPANTS + 1;
+        assertEquals(votes, voteRepository.countByEventId(eventId));
+
+        assertNull(eventService.deleteEvent(eventId, participants.get(0).getId()));
+        assertTrue(eventRepository.findById(eventId).isPresent());
+        assertNull(eventPurgeService.getProgress(eventId, creator.getId()));
+
+        assertEquals("Successfully deleted event", eventService.deleteEvent(eventId, creator.getId()));
+
+        // hidden from reads before a single row is purged
+        assertTrue(eventRepository.findById(eventId).isEmpty());
+        assertTrue(reads.execute(status -> eventService.getEvents(participants.get(0).getId())).isEmpty());
+        assertTrue(reads.execute(status -> eventService.getEvents(creator.getId())).isEmpty());
+        assertNull(reads.execute(status -> eventService.getVotes(creator.getId(), eventId, null)));
+        assertNull(eventPurgeService.getProgress(eventId, participants.get(0).getId()));
+
+        EventDeletionDTO pending = eventPurgeService.getProgress(eventId, creator.getId());
+        assertEquals(new EventDeletionDTO(eventId, EventPurgeService.PENDING, 0L, 0L, 0L, votes, slots, members), pending);
+
+        assertEquals(2, eventPurgeService.purge(eventId, 2));
+        EventDeletionDTO purging = eventPurgeService.getProgress(eventId, creator.getId());
+        assertEquals(new EventDeletionDTO(eventId, EventPurgeService.PURGING, 6L, 0L, 0L, votes - 6, slots, members), purging);
+
+        // 20 votes, 5 timeslots and 5 members at three rows a batch, plus the batch removing the event
+        int remainingBatches = (int) (ceil(votes - 6) + ceil(slots) + ceil(members) + 1);
+        assertEquals(remainingBatches, eventPurgeService.purge(eventId, 100));
+
+        EventDeletionDTO purged = eventPurgeService.getProgress(eventId, creator.getId());
+        assertEquals(new EventDeletionDTO(eventId, EventPurgeService.PURGED, votes, slots, members, 0L, 0L, 0L), purged);
+        assertNull(eventPurgeService.getProgress(eventId, participants.get(0).getId()));
+        assertEquals(0, voteRepository.countByEventId(eventId));
+        assertEquals(0, timeslotRepository.countByEventId(eventId));
+        assertEquals(0, eventRepository.countMembers(eventId));
+        assertNull(eventRepository.findTombstoneCreatorId(eventId));
+        assertFalse(eventRepository.findTombstonedIds(10).contains(eventId));
+
+        // nothing left to purge
+        assertEquals(0, eventPurgeService.purge(eventId, 100));
+    }
+
+    private static long ceil(long rows) {
+        return (rows + 2) / 3;
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        user.setFirstName(name);
+        user.setLastName("Test");
+        user.setPassword("not-a-hash");
+        return userRepository.save(user);
+    }
+}
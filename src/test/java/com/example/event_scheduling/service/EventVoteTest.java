@@ -0,0 +1,91 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.dto.EventDTO;
+import com.example.event_scheduling.dto.TimeslotDTO;
+import com.example.event_scheduling.dto.VoteDTO;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.UserRepository;
+import com.example.event_scheduling.repository.VoteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Casts a vote and removes it again through {@link EventService}, and checks that the vote row
+ * is deleted while the other participant's vote on the same timeslot stays.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:votetest;DB_CLOSE_DELAY=-1",
+        "events.purge.enabled=false",
+        "events.archive.enabled=false"
+})
+class EventVoteTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testCastThenRemoveVote() {
+        User creator = user("creator");
+        User voter = user("voter");
+        User other = user("other");
+        Instant start = Instant.now().plus(Duration.ofDays(30)).truncatedTo(ChronoUnit.HOURS);
+        Long eventId = eventService.createEvent(creator.getId(), "Planning", null, start, start.plus(Duration.ofHours(1)), 10, null, null).id();
+        assertNotNull(eventService.inviteToEvent(creator.getId(), eventId, voter.getId()));
+        assertNotNull(eventService.inviteToEvent(creator.getId(), eventId, other.getId()));
+        Long timeslotId = votes(creator, eventId).get(0).id();
+
+        assertNotNull(eventService.vote(voter.getId(), eventId, timeslotId, false));
+        assertNotNull(eventService.vote(other.getId(), eventId, timeslotId, false));
+        assertEquals(List.of(voter.getId(), other.getId()), voterIds(creator, eventId));
+        assertEquals(2, voteRepository.countByEventId(eventId));
+
+        EventDTO removed = eventService.vote(voter.getId(), eventId, timeslotId, true);
+
+        assertNotNull(removed);
+        assertEquals(List.of(other.getId()), voterIds(creator, eventId));
+        assertEquals(1, voteRepository.countByEventId(eventId));
+
+        // nothing left to remove, and the vote can be cast again
+        assertNull(eventService.vote(voter.getId(), eventId, timeslotId, true));
+        assertNotNull(eventService.vote(voter.getId(), eventId, timeslotId, false));
+        assertEquals(2, voteRepository.countByEventId(eventId));
+    }
+
+    private List<Long> voterIds(User reader, Long eventId) {
+        return votes(reader, eventId).get(0).votes().stream().map(VoteDTO::userId).sorted().toList();
+    }
+
+    private List<TimeslotDTO> votes(User reader, Long eventId) {
+        // getVotes walks lazy collections, which open-in-view covers for web requests
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> eventService.getVotes(reader.getId(), eventId, null));
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        user.setFirstName(name);
+        user.setLastName("Test");
+        user.setPassword("not-a-hash");
+        return userRepository.save(user);
+    }
+}
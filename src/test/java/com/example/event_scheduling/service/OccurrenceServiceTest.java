@@ -0,0 +1,86 @@
+package com.example.event_scheduling.service;
+
+import com.example.event_scheduling.dto.OccurrenceDTO;
+import com.example.event_scheduling.model.User;
+import com.example.event_scheduling.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Expands a weekly 09:00 America/New_York series across the end of daylight saving time, and a
+ * series without a zone, which repeats in UTC.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:occurrencetest;DB_CLOSE_DELAY=-1",
+        "events.purge.enabled=false",
+        "events.archive.enabled=false"
+})
+class OccurrenceServiceTest {
+
+    // Monday 09:00 EDT, clocks go back on Sunday 2030-11-03
+    private static final Instant FIRST = Instant.parse("2030-10-28T13:00:00Z");
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private OccurrenceService occurrenceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testSeriesKeepsItsWallClockTimeAcrossDaylightSaving() {
+        User creator = user("creator");
+        Long eventId = eventService.createEvent(creator.getId(), "Standup", null, FIRST, FIRST.plus(Duration.ofMinutes(30)), 1,
+                "FREQ=WEEKLY", "America/New_York").id();
+
+        assertEquals(List.of(FIRST, Instant.parse("2030-11-04T14:00:00Z"), Instant.parse("2030-11-11T14:00:00Z")),
+                starts(creator, eventId));
+
+        // overrides are keyed by the shifted start, the UTC week would be an hour early
+        assertNull(occurrenceService.overrideOccurrence(creator.getId(), eventId, Instant.parse("2030-11-04T13:00:00Z"), null, null, true));
+        assertNotNull(occurrenceService.overrideOccurrence(creator.getId(), eventId, Instant.parse("2030-11-04T14:00:00Z"), null, null, true));
+        assertEquals(List.of(FIRST, Instant.parse("2030-11-11T14:00:00Z")), starts(creator, eventId));
+    }
+
+    @Test
+    void testSeriesWithoutZoneRepeatsInUtc() {
+        User creator = user("creator");
+        Long eventId = eventService.createEvent(creator.getId(), "Standup", null, FIRST, FIRST.plus(Duration.ofMinutes(30)), 1,
+                "FREQ=WEEKLY", null).id();
+
+        assertEquals(List.of(FIRST, Instant.parse("2030-11-04T13:00:00Z"), Instant.parse("2030-11-11T13:00:00Z")),
+                starts(creator, eventId));
+        assertNull(eventService.createEvent(creator.getId(), "Standup", null, FIRST, FIRST.plus(Duration.ofMinutes(30)), 1,
+                "FREQ=WEEKLY", "Mars/Olympus_Mons"));
+    }
+
+    private List<Instant> starts(User user, Long eventId) {
+        // expanding walks the event's lazy collections, which open-in-view covers for web requests
+        List<OccurrenceDTO> occurrences = new TransactionTemplate(transactionManager).execute(status ->
+                occurrenceService.getOccurrences(user.getId(), eventId, FIRST, FIRST.plus(Duration.ofDays(15))));
+        return occurrences.stream().map(OccurrenceDTO::startTime).toList();
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setEmail(name + "-" + System.nanoTime() + "@example.com");
+        user.setFirstName(name);
+        user.setLastName("Test");
+        user.setPassword("not-a-hash");
+        return userRepository.save(user);
+    }
+}
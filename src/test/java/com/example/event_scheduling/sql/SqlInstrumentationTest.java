@@ -0,0 +1,80 @@
+package com.example.event_scheduling.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlInstrumentationTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRepeatedStatementIsFlaggedPerTransaction() {
+        SqlInstrumentation instrumentation = new SqlInstrumentation(meterRegistry, Duration.ofHours(1), 10, true, 5);
+        JdbcTemplate jdbc = new JdbcTemplate(instrumented(instrumentation, "repeated"));
+        TransactionTemplate tx = transactions(instrumentation, jdbc.getDataSource(), "com.example.Service.decline");
+        jdbc.execute("create table votes (id int primary key)");
+
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < 6; i++) {
+                jdbc.update("delete from votes where id = ?", i);
+            }
+        });
+
+        List<SqlInstrumentation.RepeatedStatement> repeated = instrumentation.getRepeatedStatements();
+        assertEquals(1, repeated.size());
+        assertEquals("Service.decline", repeated.get(0).transaction());
+        assertEquals("delete from votes where id = ?", repeated.get(0).sql());
+        assertEquals(6, repeated.get(0).executions());
+
+        DistributionSummary statements = meterRegistry.get("sql.transaction.statements")
+                .tags("transaction", "Service.decline", "outcome", "commit").summary();
+        assertEquals(6, statements.totalAmount());
+        assertEquals(1, meterRegistry.get("sql.transaction.connection.acquire").timer().count());
+        assertTrue(instrumentation.getSlowQueries().isEmpty());
+    }
+
+    @Test
+    void testSlowQueryKeepsBindParameters() {
+        SqlInstrumentation instrumentation = new SqlInstrumentation(meterRegistry, Duration.ZERO, 2, true, 10);
+        JdbcTemplate jdbc = new JdbcTemplate(instrumented(instrumentation, "slow"));
+        TransactionTemplate tx = transactions(instrumentation, jdbc.getDataSource(), "com.example.Service.read");
+        jdbc.execute("create table events (id int primary key, title varchar(50))");
+
+        tx.executeWithoutResult(status ->
+                jdbc.update("insert into events (id, title) values (?, ?)", 42, "Standup"));
+
+        // newest first, the create table outside the transaction is slow too
+        List<SqlInstrumentation.SlowQuery> slow = instrumentation.getSlowQueries();
+        assertEquals(2, slow.size());
+        assertEquals("insert into events (id, title) values (?, ?)", slow.get(0).sql());
+        assertEquals("Service.read", slow.get(0).transaction());
+        assertEquals(List.of(List.of("42", "Standup")), slow.get(0).parameters());
+        assertTrue(instrumentation.getRepeatedStatements().isEmpty());
+    }
+
+    private static DataSource instrumented(SqlInstrumentation instrumentation, String name) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return ProxyDataSourceBuilder.create(h2).listener(instrumentation).methodListener(instrumentation).build();
+    }
+
+    private static TransactionTemplate transactions(SqlInstrumentation instrumentation, DataSource dataSource, String name) {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.setTransactionExecutionListeners(List.of(instrumentation));
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(name);
+        return template;
+    }
+}
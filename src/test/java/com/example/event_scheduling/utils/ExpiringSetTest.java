@@ -0,0 +1,75 @@
+package com.example.event_scheduling.utils;
+
+import com.example.event_scheduling.utils.ExpiringSet.AddResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringSetTest {
+
+    @Test
+    void testAddReportsNewPresentAndFull() {
+        AtomicLong now = new AtomicLong(1_000);
+        ExpiringSet<String> set = new ExpiringSet<String>(2, now::get);
+
+        assertEquals(AddResult.ADDED, set.add("a", 2_000));
+        assertEquals(AddResult.PRESENT, set.add("a", 3_000));
+        assertEquals(AddResult.ADDED, set.add("b", 2_000));
+        assertEquals(AddResult.FULL, set.add("c", 2_000));
+        assertFalse(set.contains("c"));
+
+        // "b" expires and makes room, "a" was extended and stays
+        now.set(2_500);
+        assertEquals(AddResult.ADDED, set.add("c", 4_000));
+        assertTrue(set.contains("a"));
+        assertFalse(set.contains("b"));
+    }
+
+    @Test
+    void testExpiredMemberIsAddedAgain() {
+        AtomicLong now = new AtomicLong(1_000);
+        ExpiringSet<String> set = new ExpiringSet<String>(10, now::get);
+
+        assertEquals(AddResult.ADDED, set.add("jti", 2_000));
+        now.set(2_000);
+        assertEquals(AddResult.ADDED, set.add("jti", 3_000));
+    }
+
+    @Test
+    void testOnlyOneConcurrentAddWins() throws Exception {
+        ExpiringSet<String> set = new ExpiringSet<String>(1_000);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                String value = "jti-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<AddResult>> results = new ArrayList<Future<AddResult>>();
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return set.add(value, expiresAt);
+                    }));
+                }
+                start.countDown();
+
+                int added = 0;
+                for (Future<AddResult> result : results) {
+                    if (result.get() == AddResult.ADDED) added++;
+                }
+                assertEquals(1, added, value);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
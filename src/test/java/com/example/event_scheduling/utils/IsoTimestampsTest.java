@@ -0,0 +1,52 @@
+package com.example.event_scheduling.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoTimestampsTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Test
+    void testOffsetsAndLocalTimes() {
+        Instant expected = Instant.parse("2025-05-15T08:00:00Z");
+
+        assertEquals(expected, IsoTimestamps.parse("2025-05-15T08:00:00Z", BERLIN));
+        assertEquals(expected, IsoTimestamps.parse("2025-05-15T10:00:00+02:00", ZoneOffset.UTC));
+        assertEquals(expected, IsoTimestamps.parse("2025-05-15T10:00", BERLIN));
+        assertEquals(expected, IsoTimestamps.parse("2025-05-15T08:00:00", ZoneOffset.UTC));
+        assertEquals(Instant.parse("2025-05-15T08:00:00.120Z"), IsoTimestamps.parse("2025-05-15T08:00:00.12Z", ZoneOffset.UTC));
+        // not in the fast path's shape, handled by the formatter
+        assertEquals(expected, IsoTimestamps.parse("2025-05-15T10:00:00+02:00[Europe/Berlin]", ZoneOffset.UTC));
+    }
+
+    @Test
+    void testMatchesJavaTimeAcrossDstTransitions() {
+        Random random = new Random(3);
+        LocalDateTime base = LocalDateTime.of(1999, 1, 1, 0, 0);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime local = base.plusMinutes(random.nextInt(40 * 365 * 24 * 60)).withSecond(random.nextInt(60));
+            assertEquals(local.atZone(BERLIN).toInstant(), IsoTimestamps.parse(local.toString(), BERLIN), local.toString());
+        }
+        // 02:30 does not exist on 2025-03-30 in Berlin and is moved forward like ZonedDateTime does
+        assertEquals(ZonedDateTime.of(2025, 3, 30, 2, 30, 0, 0, BERLIN).toInstant(),
+                IsoTimestamps.parse("2025-03-30T02:30:00", BERLIN));
+    }
+
+    @Test
+    void testRejectsInvalidTimestamps() {
+        assertThrows(DateTimeParseException.class, () -> IsoTimestamps.parse("2025-02-30T10:00:00", ZoneOffset.UTC));
+        assertThrows(DateTimeParseException.class, () -> IsoTimestamps.parse("2025-05-15T24:00:00", ZoneOffset.UTC));
+        assertThrows(DateTimeParseException.class, () -> IsoTimestamps.parse("2025-05-15 10:00:00", ZoneOffset.UTC));
+        assertThrows(DateTimeParseException.class, () -> IsoTimestamps.parse("2025-05-15T10:00:00+2", ZoneOffset.UTC));
+    }
+}